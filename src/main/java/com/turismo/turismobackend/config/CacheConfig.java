@@ -0,0 +1,41 @@
+package com.turismo.turismobackend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    // Listados completos del catálogo público. Servicios, planes y categorías se guardan por versión del
+    // listado (VersionCatalogoService); municipalidades guarda una sola entrada
+    public static final String CATALOGO_SERVICIOS = "catalogoServicios";
+    public static final String CATALOGO_PLANES = "catalogoPlanes";
+    public static final String CATALOGO_CATEGORIAS = "catalogoCategorias";
+    public static final String CATALOGO_MUNICIPALIDADES = "catalogoMunicipalidades";
+    
+    // Usuarios autenticados por nombre de usuario, con sus propios límites de tamaño y antigüedad
+    public static final String PRINCIPALES = "principales";
+    
+    @Bean
+    public CacheManager cacheManager(@Value("${application.cache.catalogo.spec}") String especificacion,
+                                     @Value("${application.cache.principales.spec}") String especificacionPrincipales) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+                CATALOGO_SERVICIOS, CATALOGO_PLANES, CATALOGO_CATEGORIAS, CATALOGO_MUNICIPALIDADES);
+        cacheManager.setCaffeine(Caffeine.from(especificacion));
+        cacheManager.registerCustomCache(PRINCIPALES, Caffeine.from(especificacionPrincipales).build());
+        
+        // Las invalidaciones se aplican después del commit, así que no se descarta nada si la transacción se
+        // revierte. No evitan que una lectura concurrente que empezó antes del commit vuelva a guardar el
+        // listado anterior justo después de la invalidación. En los listados por versión ese listado queda
+        // bajo la versión vieja, que ya no se pide; en municipalidades dura como mucho lo que indique
+        // expireAfterWrite en application.cache.catalogo.spec
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
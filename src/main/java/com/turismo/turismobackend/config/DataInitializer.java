@@ -10,6 +10,7 @@ import com.turismo.turismobackend.service.AuthService;
 import com.turismo.turismobackend.service.CategoriaService;
 import com.turismo.turismobackend.service.EmprendedorService;
 import com.turismo.turismobackend.service.MunicipalidadService;
+import com.turismo.turismobackend.service.VersionCatalogoService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -30,11 +31,13 @@ public class DataInitializer implements CommandLineRunner {
     private final MunicipalidadService municipalidadService;
     private final EmprendedorService emprendedorService;
     private final CategoriaService categoriaService;
+    private final VersionCatalogoService versionCatalogoService;
 
     @Override
     public void run(String... args) {
-        // 1. Inicializar los roles en la base de datos
+        // 1. Inicializar los roles y las versiones del catálogo en la base de datos
         authService.initRoles();
+        versionCatalogoService.inicializar();
 
         // 2. Verificar si ya existen usuarios para no duplicar datos
         if (usuarioRepository.count() > 0) {
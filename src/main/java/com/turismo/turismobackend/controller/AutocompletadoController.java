@@ -0,0 +1,35 @@
+package com.turismo.turismobackend.controller;
+
+import com.turismo.turismobackend.dto.response.SugerenciaResponse;
+import com.turismo.turismobackend.service.AutocompletadoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/public")
+@RequiredArgsConstructor
+@Tag(name = "Autocompletado", description = "API pública de sugerencias para la caja de búsqueda")
+public class AutocompletadoController {
+    
+    private static final int MAX_SUGERENCIAS = 50;
+    
+    private final AutocompletadoService autocompletadoService;
+    
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Sugerir planes, servicios, emprendedores y distritos que empiezan por el texto escrito")
+    public ResponseEntity<List<SugerenciaResponse>> autocompletar(
+            @Parameter(description = "Texto escrito hasta el momento") @RequestParam String q,
+            @Parameter(description = "Cantidad máxima de sugerencias (máximo 50)") @RequestParam(defaultValue = "10") Integer limite) {
+        int limiteEfectivo = Math.max(1, Math.min(limite, MAX_SUGERENCIAS));
+        return ResponseEntity.ok(autocompletadoService.sugerir(q, limiteEfectivo));
+    }
+}
@@ -2,6 +2,7 @@ package com.turismo.turismobackend.controller;
 
 import com.turismo.turismobackend.dto.request.CarritoItemRequest;
 import com.turismo.turismobackend.dto.response.CarritoResponse;
+import com.turismo.turismobackend.dto.response.DisponibilidadItemResponse;
 import com.turismo.turismobackend.service.CarritoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,6 +13,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/carrito")
 @RequiredArgsConstructor
@@ -28,6 +31,12 @@ public class CarritoController {
         return ResponseEntity.ok(carrito);
     }
     
+    @GetMapping("/disponibilidad")
+    @Operation(summary = "Verificar la disponibilidad de todos los items del carrito en una sola consulta")
+    public ResponseEntity<List<DisponibilidadItemResponse>> verificarDisponibilidad() {
+        return ResponseEntity.ok(carritoService.verificarDisponibilidad());
+    }
+    
     @PostMapping("/agregar")
     @Operation(summary = "Agregar item al carrito")
     public ResponseEntity<CarritoResponse> agregarItem(
@@ -0,0 +1,65 @@
+package com.turismo.turismobackend.controller;
+
+import com.turismo.turismobackend.dto.response.BusquedaFacetadaResponse;
+import com.turismo.turismobackend.dto.response.PlanTuristicoResponse;
+import com.turismo.turismobackend.dto.response.ServicioTuristicoResponse;
+import com.turismo.turismobackend.model.PlanTuristico;
+import com.turismo.turismobackend.model.ServicioTuristico;
+import com.turismo.turismobackend.service.PlanTuristicoService;
+import com.turismo.turismobackend.service.ServicioTuristicoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+
+@RestController
+@RequestMapping("/api/catalogo")
+@RequiredArgsConstructor
+@Tag(name = "Catálogo", description = "API de búsqueda facetada de servicios y planes turísticos")
+public class CatalogoController {
+    
+    private static final int MAX_TAMANO_PAGINA = 100;
+    
+    private final ServicioTuristicoService servicioService;
+    private final PlanTuristicoService planService;
+    
+    @GetMapping("/servicios")
+    @Operation(summary = "Buscar servicios combinando filtros, con conteos por faceta")
+    public ResponseEntity<BusquedaFacetadaResponse<ServicioTuristicoResponse>> buscarServicios(
+            @Parameter(description = "Tipo de servicio") @RequestParam(required = false) ServicioTuristico.TipoServicio tipo,
+            @Parameter(description = "Estado del servicio") @RequestParam(required = false) ServicioTuristico.EstadoServicio estado,
+            @Parameter(description = "ID de municipalidad") @RequestParam(required = false) Long municipalidadId,
+            @Parameter(description = "ID de categoría del emprendedor") @RequestParam(required = false) Long categoriaId,
+            @Parameter(description = "Precio mínimo") @RequestParam(required = false) BigDecimal precioMin,
+            @Parameter(description = "Precio máximo") @RequestParam(required = false) BigDecimal precioMax,
+            @Parameter(description = "Número de página (desde 0)") @RequestParam(defaultValue = "0") Integer pagina,
+            @Parameter(description = "Tamaño de página (máximo 100)") @RequestParam(defaultValue = "20") Integer tamano) {
+        BusquedaFacetadaResponse<ServicioTuristicoResponse> resultado = servicioService.buscarCatalogo(
+                tipo, estado, municipalidadId, categoriaId, precioMin, precioMax,
+                Math.max(0, pagina), Math.max(1, Math.min(tamano, MAX_TAMANO_PAGINA)));
+        return ResponseEntity.ok(resultado);
+    }
+    
+    @GetMapping("/planes")
+    @Operation(summary = "Buscar planes combinando filtros, con conteos por faceta")
+    public ResponseEntity<BusquedaFacetadaResponse<PlanTuristicoResponse>> buscarPlanes(
+            @Parameter(description = "Nivel de dificultad") @RequestParam(required = false) PlanTuristico.NivelDificultad nivelDificultad,
+            @Parameter(description = "Estado del plan") @RequestParam(required = false) PlanTuristico.EstadoPlan estado,
+            @Parameter(description = "ID de municipalidad") @RequestParam(required = false) Long municipalidadId,
+            @Parameter(description = "Precio mínimo") @RequestParam(required = false) BigDecimal precioMin,
+            @Parameter(description = "Precio máximo") @RequestParam(required = false) BigDecimal precioMax,
+            @Parameter(description = "Número de página (desde 0)") @RequestParam(defaultValue = "0") Integer pagina,
+            @Parameter(description = "Tamaño de página (máximo 100)") @RequestParam(defaultValue = "20") Integer tamano) {
+        BusquedaFacetadaResponse<PlanTuristicoResponse> resultado = planService.buscarCatalogo(
+                nivelDificultad, estado, municipalidadId, precioMin, precioMax,
+                Math.max(0, pagina), Math.max(1, Math.min(tamano, MAX_TAMANO_PAGINA)));
+        return ResponseEntity.ok(resultado);
+    }
+}
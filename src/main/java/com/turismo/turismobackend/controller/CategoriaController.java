@@ -3,11 +3,14 @@ package com.turismo.turismobackend.controller;
 import com.turismo.turismobackend.dto.request.CategoriaRequest;
 import com.turismo.turismobackend.dto.response.CategoriaResponse;
 import com.turismo.turismobackend.service.CategoriaService;
+import com.turismo.turismobackend.service.VersionCatalogoService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,10 +20,16 @@ import java.util.List;
 public class CategoriaController {
     
     private final CategoriaService categoriaService;
+    private final VersionCatalogoService versionCatalogoService;
     
     @GetMapping
-    public ResponseEntity<List<CategoriaResponse>> getAllCategorias() {
-        return ResponseEntity.ok(categoriaService.getAllCategorias());
+    public ResponseEntity<List<CategoriaResponse>> getAllCategorias(WebRequest webRequest) {
+        long version = versionCatalogoService.version(VersionCatalogoService.Agregado.CATEGORIAS);
+        String etag = versionCatalogoService.etag(VersionCatalogoService.Agregado.CATEGORIAS, version);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(categoriaService.getAllCategorias(version));
     }
     
     @GetMapping("/{id}")
@@ -0,0 +1,61 @@
+package com.turismo.turismobackend.controller;
+
+import com.turismo.turismobackend.dto.request.DisponibilidadLoteRequest;
+import com.turismo.turismobackend.dto.response.DisponibilidadMensualResponse;
+import com.turismo.turismobackend.service.DisponibilidadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/public")
+@RequiredArgsConstructor
+@Tag(name = "Disponibilidad", description = "API pública de calendario de plazas disponibles")
+public class DisponibilidadController {
+    
+    private static final int MAX_CONSULTAS_LOTE = 100;
+    
+    private final DisponibilidadService disponibilidadService;
+    
+    @PostMapping("/disponibilidad/lote")
+    @Operation(summary = "Verificar varias combinaciones de servicio, fecha y cantidad en una sola llamada")
+    public ResponseEntity<?> verificarLote(@Valid @RequestBody DisponibilidadLoteRequest request) {
+        if (request.getItems().size() > MAX_CONSULTAS_LOTE) {
+            return ResponseEntity.badRequest().body("Se permiten como máximo " + MAX_CONSULTAS_LOTE + " consultas por lote");
+        }
+        return ResponseEntity.ok(disponibilidadService.verificarLote(request.getItems()));
+    }
+    
+    @GetMapping("/servicios/{id}/disponibilidad")
+    @Operation(summary = "Plazas disponibles de un servicio para cada día del mes")
+    public ResponseEntity<DisponibilidadMensualResponse> getDisponibilidadServicio(
+            @PathVariable Long id,
+            @Parameter(description = "Mes en formato yyyy-MM (por defecto el mes actual)")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth mes) {
+        YearMonth mesConsulta = mes != null ? mes : YearMonth.now();
+        return ResponseEntity.ok(disponibilidadService.getCalendarioServicio(id, mesConsulta));
+    }
+    
+    @GetMapping("/planes/{id}/disponibilidad")
+    @Operation(summary = "Plazas disponibles de un plan para cada fecha de inicio del mes")
+    public ResponseEntity<DisponibilidadMensualResponse> getDisponibilidadPlan(
+            @PathVariable Long id,
+            @Parameter(description = "Mes en formato yyyy-MM (por defecto el mes actual)")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth mes) {
+        YearMonth mesConsulta = mes != null ? mes : YearMonth.now();
+        return ResponseEntity.ok(disponibilidadService.getCalendarioPlan(id, mesConsulta));
+    }
+}
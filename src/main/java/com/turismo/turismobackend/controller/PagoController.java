@@ -1,17 +1,22 @@
 package com.turismo.turismobackend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.turismo.turismobackend.dto.request.PagoRequest;
 import com.turismo.turismobackend.dto.response.PagoResponse;
 import com.turismo.turismobackend.service.PagoService;
+import com.turismo.turismobackend.util.ExportadorFilas;
+import com.turismo.turismobackend.util.Paginacion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,13 +27,17 @@ import java.util.List;
 public class PagoController {
     
     private final PagoService pagoService;
+    private final ObjectMapper objectMapper;
     
     @GetMapping
     @Operation(summary = "Obtener todos los pagos (solo admin)")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<PagoResponse>> getAllPagos() {
-        List<PagoResponse> pagos = pagoService.getAllPagos();
-        return ResponseEntity.ok(pagos);
+    public ResponseEntity<List<PagoResponse>> getAllPagos(
+            @Parameter(description = "Cursor: id del último elemento recibido (X-Siguiente-Cursor)") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño de página (máximo 500)") @RequestParam(required = false) Integer limit) {
+        int limite = Paginacion.limite(after, limit);
+        List<PagoResponse> pagina = pagoService.getAllPagos(Paginacion.cursor(after), limite);
+        return Paginacion.responder(ResponseEntity.ok(), pagina, limite, PagoResponse::getId);
     }
     
     @GetMapping("/{id}")
@@ -67,9 +76,34 @@ public class PagoController {
     @Operation(summary = "Obtener pagos por municipalidad")
     @PreAuthorize("hasRole('MUNICIPALIDAD') or hasRole('ADMIN')")
     public ResponseEntity<List<PagoResponse>> getPagosByMunicipalidad(
-            @Parameter(description = "ID de la municipalidad") @PathVariable Long municipalidadId) {
-        List<PagoResponse> pagos = pagoService.getPagosByMunicipalidad(municipalidadId);
-        return ResponseEntity.ok(pagos);
+            @Parameter(description = "ID de la municipalidad") @PathVariable Long municipalidadId,
+            @Parameter(description = "Cursor: id del último elemento recibido (X-Siguiente-Cursor)") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño de página (máximo 500)") @RequestParam(required = false) Integer limit) {
+        int limite = Paginacion.limite(after, limit);
+        List<PagoResponse> pagina = pagoService.getPagosByMunicipalidad(municipalidadId, Paginacion.cursor(after), limite);
+        return Paginacion.responder(ResponseEntity.ok(), pagina, limite, PagoResponse::getId);
+    }
+    
+    @GetMapping("/municipalidad/{municipalidadId}/exportar")
+    @Operation(summary = "Exportar pagos de una municipalidad en streaming (NDJSON o CSV)")
+    @PreAuthorize("hasRole('MUNICIPALIDAD') or hasRole('ADMIN')")
+    public ResponseEntity<?> exportarPagosPorMunicipalidad(
+            @Parameter(description = "ID de la municipalidad") @PathVariable Long municipalidadId,
+            @Parameter(description = "Formato: ndjson o csv") @RequestParam(defaultValue = "ndjson") String formato) {
+        ExportadorFilas.Formato formatoExportacion = ExportadorFilas.Formato.desde(formato);
+        if (formatoExportacion == null) {
+            return ResponseEntity.badRequest().body("Formato debe ser 'ndjson' o 'csv'");
+        }
+        // Los permisos se verifican antes de responder; las filas se leen y escriben después, fuera del hilo de la petición
+        pagoService.verificarPermisoExportacion(municipalidadId);
+        
+        StreamingResponseBody cuerpo = salida -> pagoService.exportarPagosPorMunicipalidad(municipalidadId,
+                new ExportadorFilas(salida, formatoExportacion, objectMapper));
+        return ResponseEntity.ok()
+                .contentType(formatoExportacion.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"pagos-municipalidad-" + municipalidadId + "." + formatoExportacion.getExtension() + "\"")
+                .body(cuerpo);
     }
     
     @PostMapping
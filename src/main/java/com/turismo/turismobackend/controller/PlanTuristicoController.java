@@ -4,6 +4,8 @@ import com.turismo.turismobackend.dto.request.PlanTuristicoRequest;
 import com.turismo.turismobackend.dto.response.PlanTuristicoResponse;
 import com.turismo.turismobackend.model.PlanTuristico;
 import com.turismo.turismobackend.service.PlanTuristicoService;
+import com.turismo.turismobackend.service.VersionCatalogoService;
+import com.turismo.turismobackend.util.Paginacion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -23,13 +26,28 @@ import java.util.List;
 @Tag(name = "Planes Turísticos", description = "API para gestión de planes turísticos")
 public class PlanTuristicoController {
     
+    private static final int MAX_RESULTADOS_BUSQUEDA = 100;
+    
     private final PlanTuristicoService planService;
+    private final VersionCatalogoService versionCatalogoService;
     
     @GetMapping
     @Operation(summary = "Obtener todos los planes turísticos")
-    public ResponseEntity<List<PlanTuristicoResponse>> getAllPlanes() {
-        List<PlanTuristicoResponse> planes = planService.getAllPlanes();
-        return ResponseEntity.ok(planes);
+    public ResponseEntity<List<PlanTuristicoResponse>> getAllPlanes(
+            @Parameter(description = "Cursor: id del último elemento recibido (X-Siguiente-Cursor)") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño de página (máximo 500)") @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        // El ETag se lee antes que los datos: si cambian en medio, el cliente solo revalida de más
+        long version = versionCatalogoService.version(VersionCatalogoService.Agregado.PLANES);
+        String etag = versionCatalogoService.etag(VersionCatalogoService.Agregado.PLANES, version);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        int limite = Paginacion.limite(after, limit);
+        List<PlanTuristicoResponse> pagina = Paginacion.solicitada(after, limit)
+                ? planService.getAllPlanes(Paginacion.cursor(after), limite)
+                : planService.getPrimeraPaginaPlanes(version);
+        return Paginacion.responder(ResponseEntity.ok().eTag(etag), pagina, limite, PlanTuristicoResponse::getId);
     }
     
     @GetMapping("/{id}")
@@ -83,10 +101,12 @@ public class PlanTuristicoController {
     }
     
     @GetMapping("/search")
-    @Operation(summary = "Buscar planes por nombre o descripción")
+    @Operation(summary = "Buscar planes por nombre o descripción, ordenados por relevancia")
     public ResponseEntity<List<PlanTuristicoResponse>> searchPlanes(
-            @Parameter(description = "Término de búsqueda") @RequestParam String termino) {
-        List<PlanTuristicoResponse> planes = planService.searchPlanes(termino);
+            @Parameter(description = "Término de búsqueda") @RequestParam String termino,
+            @Parameter(description = "Cantidad máxima de resultados (máximo 100)") @RequestParam(defaultValue = "20") Integer limite) {
+        int limiteEfectivo = Math.max(1, Math.min(limite, MAX_RESULTADOS_BUSQUEDA));
+        List<PlanTuristicoResponse> planes = planService.searchPlanes(termino, limiteEfectivo);
         return ResponseEntity.ok(planes);
     }
     
@@ -99,9 +119,11 @@ public class PlanTuristicoController {
     }
     
     @GetMapping("/populares")
-    @Operation(summary = "Obtener planes más populares")
-    public ResponseEntity<List<PlanTuristicoResponse>> getPlanesMasPopulares() {
-        List<PlanTuristicoResponse> planes = planService.getPlanesMasPopulares();
+    @Operation(summary = "Obtener planes más populares, según sus reservas recientes")
+    public ResponseEntity<List<PlanTuristicoResponse>> getPlanesMasPopulares(
+            @Parameter(description = "Cantidad máxima de resultados (máximo 100)") @RequestParam(defaultValue = "10") Integer limite) {
+        int limiteEfectivo = Math.max(1, Math.min(limite, MAX_RESULTADOS_BUSQUEDA));
+        List<PlanTuristicoResponse> planes = planService.getPlanesMasPopulares(limiteEfectivo);
         return ResponseEntity.ok(planes);
     }
     
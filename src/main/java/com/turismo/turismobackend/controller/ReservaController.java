@@ -1,17 +1,22 @@
 package com.turismo.turismobackend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.turismo.turismobackend.dto.request.ReservaRequest;
 import com.turismo.turismobackend.dto.response.ReservaResponse;
 import com.turismo.turismobackend.service.ReservaService;
+import com.turismo.turismobackend.util.ExportadorFilas;
+import com.turismo.turismobackend.util.Paginacion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,13 +27,17 @@ import java.util.List;
 public class ReservaController {
     
     private final ReservaService reservaService;
+    private final ObjectMapper objectMapper;
     
     @GetMapping
     @Operation(summary = "Obtener todas las reservas (solo admin)")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<List<ReservaResponse>> getAllReservas() {
-        List<ReservaResponse> reservas = reservaService.getAllReservas();
-        return ResponseEntity.ok(reservas);
+    public ResponseEntity<List<ReservaResponse>> getAllReservas(
+            @Parameter(description = "Cursor: id del último elemento recibido (X-Siguiente-Cursor)") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño de página (máximo 500)") @RequestParam(required = false) Integer limit) {
+        int limite = Paginacion.limite(after, limit);
+        List<ReservaResponse> pagina = reservaService.getAllReservas(Paginacion.cursor(after), limite);
+        return Paginacion.responder(ResponseEntity.ok(), pagina, limite, ReservaResponse::getId);
     }
     
     @GetMapping("/{id}")
@@ -67,9 +76,34 @@ public class ReservaController {
     @Operation(summary = "Obtener reservas por municipalidad")
     @PreAuthorize("hasRole('ROLE_MUNICIPALIDAD') or hasRole('ROLE_ADMIN')")
     public ResponseEntity<List<ReservaResponse>> getReservasByMunicipalidad(
-            @Parameter(description = "ID de la municipalidad") @PathVariable Long municipalidadId) {
-        List<ReservaResponse> reservas = reservaService.getReservasByMunicipalidad(municipalidadId);
-        return ResponseEntity.ok(reservas);
+            @Parameter(description = "ID de la municipalidad") @PathVariable Long municipalidadId,
+            @Parameter(description = "Cursor: id del último elemento recibido (X-Siguiente-Cursor)") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño de página (máximo 500)") @RequestParam(required = false) Integer limit) {
+        int limite = Paginacion.limite(after, limit);
+        List<ReservaResponse> pagina = reservaService.getReservasByMunicipalidad(municipalidadId, Paginacion.cursor(after), limite);
+        return Paginacion.responder(ResponseEntity.ok(), pagina, limite, ReservaResponse::getId);
+    }
+    
+    @GetMapping("/municipalidad/{municipalidadId}/exportar")
+    @Operation(summary = "Exportar reservas de una municipalidad en streaming (NDJSON o CSV)")
+    @PreAuthorize("hasRole('ROLE_MUNICIPALIDAD') or hasRole('ROLE_ADMIN')")
+    public ResponseEntity<?> exportarReservasPorMunicipalidad(
+            @Parameter(description = "ID de la municipalidad") @PathVariable Long municipalidadId,
+            @Parameter(description = "Formato: ndjson o csv") @RequestParam(defaultValue = "ndjson") String formato) {
+        ExportadorFilas.Formato formatoExportacion = ExportadorFilas.Formato.desde(formato);
+        if (formatoExportacion == null) {
+            return ResponseEntity.badRequest().body("Formato debe ser 'ndjson' o 'csv'");
+        }
+        // Los permisos se verifican antes de responder; las filas se leen y escriben después, fuera del hilo de la petición
+        reservaService.verificarPermisoExportacion(municipalidadId);
+        
+        StreamingResponseBody cuerpo = salida -> reservaService.exportarReservasPorMunicipalidad(municipalidadId,
+                new ExportadorFilas(salida, formatoExportacion, objectMapper));
+        return ResponseEntity.ok()
+                .contentType(formatoExportacion.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"reservas-municipalidad-" + municipalidadId + "." + formatoExportacion.getExtension() + "\"")
+                .body(cuerpo);
     }
     
     @PostMapping
@@ -4,6 +4,8 @@ import com.turismo.turismobackend.dto.request.ServicioTuristicoRequest;
 import com.turismo.turismobackend.dto.response.ServicioTuristicoResponse;
 import com.turismo.turismobackend.model.ServicioTuristico;
 import com.turismo.turismobackend.service.ServicioTuristicoService;
+import com.turismo.turismobackend.service.VersionCatalogoService;
+import com.turismo.turismobackend.util.Paginacion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -23,13 +26,27 @@ import java.util.List;
 @Tag(name = "Servicios Turísticos", description = "API para gestión de servicios turísticos")
 public class ServicioTuristicoController {
     
+    private static final int MAX_RESULTADOS_BUSQUEDA = 100;
+    
     private final ServicioTuristicoService servicioService;
+    private final VersionCatalogoService versionCatalogoService;
     
     @GetMapping
     @Operation(summary = "Obtener todos los servicios turísticos")
-    public ResponseEntity<List<ServicioTuristicoResponse>> getAllServicios() {
-        List<ServicioTuristicoResponse> servicios = servicioService.getAllServicios();
-        return ResponseEntity.ok(servicios);
+    public ResponseEntity<List<ServicioTuristicoResponse>> getAllServicios(
+            @Parameter(description = "Cursor: id del último elemento recibido (X-Siguiente-Cursor)") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño de página (máximo 500)") @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        long version = versionCatalogoService.version(VersionCatalogoService.Agregado.SERVICIOS);
+        String etag = versionCatalogoService.etag(VersionCatalogoService.Agregado.SERVICIOS, version);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        int limite = Paginacion.limite(after, limit);
+        List<ServicioTuristicoResponse> pagina = Paginacion.solicitada(after, limit)
+                ? servicioService.getAllServicios(Paginacion.cursor(after), limite)
+                : servicioService.getPrimeraPaginaServicios(version);
+        return Paginacion.responder(ResponseEntity.ok().eTag(etag), pagina, limite, ServicioTuristicoResponse::getId);
     }
     
     @GetMapping("/{id}")
@@ -82,10 +99,12 @@ public class ServicioTuristicoController {
     }
     
     @GetMapping("/search")
-    @Operation(summary = "Buscar servicios por nombre o descripción")
+    @Operation(summary = "Buscar servicios por nombre o descripción, ordenados por relevancia")
     public ResponseEntity<List<ServicioTuristicoResponse>> searchServicios(
-            @Parameter(description = "Término de búsqueda") @RequestParam String termino) {
-        List<ServicioTuristicoResponse> servicios = servicioService.searchServicios(termino);
+            @Parameter(description = "Término de búsqueda") @RequestParam String termino,
+            @Parameter(description = "Cantidad máxima de resultados (máximo 100)") @RequestParam(defaultValue = "20") Integer limite) {
+        int limiteEfectivo = Math.max(1, Math.min(limite, MAX_RESULTADOS_BUSQUEDA));
+        List<ServicioTuristicoResponse> servicios = servicioService.searchServicios(termino, limiteEfectivo);
         return ResponseEntity.ok(servicios);
     }
     
@@ -1,10 +1,15 @@
 package com.turismo.turismobackend.controller;
 
+import com.turismo.turismobackend.dto.request.MatrizDistanciasRequest;
 import com.turismo.turismobackend.dto.request.UbicacionRequest;
+import com.turismo.turismobackend.dto.response.ClusterMapaResponse;
 import com.turismo.turismobackend.dto.response.EmprendedorResponse;
+import com.turismo.turismobackend.dto.response.MatrizDistanciasResponse;
 import com.turismo.turismobackend.dto.response.ServicioTuristicoResponse;
+import com.turismo.turismobackend.dto.response.UbicacionCercanaResponse;
 import com.turismo.turismobackend.dto.response.UbicacionResponse;
 import com.turismo.turismobackend.service.UbicacionService;
+import com.turismo.turismobackend.util.RejillaClusters;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -22,6 +27,10 @@ import java.util.List;
 @Tag(name = "Ubicaciones", description = "API para gestión de ubicaciones y mapas")
 public class UbicacionController {
     
+    private static final int MAX_VECINOS = 100;
+    
+    private static final int MAX_PUNTOS_MATRIZ = 200;
+    
     private final UbicacionService ubicacionService;
     
     @GetMapping("/emprendedores")
@@ -90,6 +99,53 @@ public class UbicacionController {
         }
     }
     
+    @GetMapping("/knn")
+    @Operation(summary = "Obtener los k emprendedores o servicios más cercanos, ordenados por distancia")
+    public ResponseEntity<?> buscarMasCercanos(
+            @Parameter(description = "Latitud del punto de búsqueda") @RequestParam Double lat,
+            @Parameter(description = "Longitud del punto de búsqueda") @RequestParam Double lng,
+            @Parameter(description = "Cantidad de resultados (máximo 100)") @RequestParam(defaultValue = "10") Integer k,
+            @Parameter(description = "Tipo: 'emprendedores' o 'servicios'") @RequestParam(defaultValue = "servicios") String tipo) {
+        
+        if (!ubicacionService.validarCoordenadas(lat, lng)) {
+            return ResponseEntity.badRequest().body("Coordenadas no válidas");
+        }
+        if (!"emprendedores".equals(tipo) && !"servicios".equals(tipo)) {
+            return ResponseEntity.badRequest().body("Tipo debe ser 'emprendedores' o 'servicios'");
+        }
+        if (k == null || k <= 0 || k > MAX_VECINOS) {
+            return ResponseEntity.badRequest().body("k debe estar entre 1 y " + MAX_VECINOS);
+        }
+        
+        List<UbicacionCercanaResponse> cercanos = ubicacionService.obtenerMasCercanos(lat, lng, k, tipo);
+        return ResponseEntity.ok(cercanos);
+    }
+    
+    @GetMapping("/clusters")
+    @Operation(summary = "Obtener clusters pre-agregados por tesela para la vista y nivel de zoom del mapa")
+    public ResponseEntity<?> obtenerClusters(
+            @Parameter(description = "Nivel de zoom del mapa (0-18)") @RequestParam Integer zoom,
+            @Parameter(description = "Latitud mínima de la vista") @RequestParam Double latMin,
+            @Parameter(description = "Latitud máxima de la vista") @RequestParam Double latMax,
+            @Parameter(description = "Longitud mínima de la vista (oeste)") @RequestParam Double lngMin,
+            @Parameter(description = "Longitud máxima de la vista (este)") @RequestParam Double lngMax,
+            @Parameter(description = "Tipo: 'emprendedores' o 'servicios'") @RequestParam(defaultValue = "servicios") String tipo) {
+        
+        if (!ubicacionService.validarCoordenadas(latMin, lngMin) || !ubicacionService.validarCoordenadas(latMax, lngMax)
+                || latMin > latMax) {
+            return ResponseEntity.badRequest().body("Vista del mapa no válida");
+        }
+        if (zoom < 0 || zoom > RejillaClusters.ZOOM_MAXIMO) {
+            return ResponseEntity.badRequest().body("Zoom debe estar entre 0 y " + RejillaClusters.ZOOM_MAXIMO);
+        }
+        if (!"emprendedores".equals(tipo) && !"servicios".equals(tipo)) {
+            return ResponseEntity.badRequest().body("Tipo debe ser 'emprendedores' o 'servicios'");
+        }
+        
+        List<ClusterMapaResponse> clusters = ubicacionService.obtenerClusters(zoom, latMin, latMax, lngMin, lngMax, tipo);
+        return ResponseEntity.ok(clusters);
+    }
+    
     @GetMapping("/validar-coordenadas")
     @Operation(summary = "Validar si las coordenadas son válidas")
     public ResponseEntity<Boolean> validarCoordenadas(
@@ -109,4 +165,21 @@ public class UbicacionController {
         double distancia = ubicacionService.calcularDistanciaEntre(lat1, lng1, lat2, lng2);
         return ResponseEntity.ok(distancia);
     }
-}
\ No newline at end of file
+    
+    @PostMapping("/matriz-distancias")
+    @Operation(summary = "Calcular en una sola llamada la matriz de distancias entre puntos o servicios")
+    public ResponseEntity<?> calcularMatrizDistancias(@Valid @RequestBody MatrizDistanciasRequest request) {
+        boolean hayPuntos = request.getPuntos() != null && !request.getPuntos().isEmpty();
+        boolean hayServicios = request.getServicioIds() != null && !request.getServicioIds().isEmpty();
+        if (!hayPuntos && !hayServicios) {
+            return ResponseEntity.badRequest().body("Debe indicar puntos o servicioIds");
+        }
+        int cantidad = hayPuntos ? request.getPuntos().size() : request.getServicioIds().size();
+        if (cantidad > MAX_PUNTOS_MATRIZ) {
+            return ResponseEntity.badRequest().body("Se permiten como máximo " + MAX_PUNTOS_MATRIZ + " puntos");
+        }
+        
+        MatrizDistanciasResponse matriz = ubicacionService.calcularMatrizDistancias(request);
+        return ResponseEntity.ok(matriz);
+    }
+}
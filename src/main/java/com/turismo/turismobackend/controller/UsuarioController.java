@@ -2,6 +2,7 @@ package com.turismo.turismobackend.controller;
 
 import com.turismo.turismobackend.dto.response.UsuarioResponse;
 import com.turismo.turismobackend.service.UsuarioService;
+import com.turismo.turismobackend.util.Paginacion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,8 +21,12 @@ public class UsuarioController {
     
     @GetMapping
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<List<UsuarioResponse>> getAllUsuarios() {
-        return ResponseEntity.ok(usuarioService.getAllUsuarios());
+    public ResponseEntity<List<UsuarioResponse>> getAllUsuarios(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        int limite = Paginacion.limite(after, limit);
+        List<UsuarioResponse> pagina = usuarioService.getAllUsuarios(Paginacion.cursor(after), limite);
+        return Paginacion.responder(ResponseEntity.ok(), pagina, limite, UsuarioResponse::getId);
     }
     
     @GetMapping("/{id}")
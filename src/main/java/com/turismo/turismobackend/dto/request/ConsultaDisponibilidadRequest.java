@@ -0,0 +1,27 @@
+package com.turismo.turismobackend.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsultaDisponibilidadRequest {
+    
+    @NotNull(message = "El ID del servicio es obligatorio")
+    private Long servicioId;
+    
+    @NotNull(message = "La fecha es obligatoria")
+    private LocalDate fecha;
+    
+    @NotNull(message = "La cantidad es obligatoria")
+    @Positive(message = "La cantidad debe ser positiva")
+    private Integer cantidad;
+}
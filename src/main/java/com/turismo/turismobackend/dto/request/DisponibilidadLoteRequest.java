@@ -0,0 +1,22 @@
+package com.turismo.turismobackend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisponibilidadLoteRequest {
+    
+    // Cada consulta se evalúa por separado: dos consultas del mismo servicio y fecha no se suman
+    @NotEmpty(message = "Debe indicar al menos una consulta")
+    @Valid
+    private List<ConsultaDisponibilidadRequest> items;
+}
@@ -0,0 +1,22 @@
+package com.turismo.turismobackend.dto.request;
+
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatrizDistanciasRequest {
+    
+    // Se debe indicar una lista de puntos o una lista de IDs de servicios (se usa la primera que venga informada)
+    @Valid
+    private List<UbicacionRequest> puntos;
+    
+    private List<Long> servicioIds;
+}
@@ -50,4 +50,7 @@ public class PlanTuristicoRequest {
     
     @NotNull(message = "Los servicios son obligatorios")
     private List<ServicioPlanRequest> servicios;
+    
+    // Si es true, el ordenEnElDia de cada día se recalcula para minimizar la distancia recorrida
+    private Boolean optimizarRuta;
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.turismo.turismobackend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BusquedaFacetadaResponse<T> {
+    
+    // Página solicitada de los resultados que cumplen todos los filtros
+    private List<T> resultados;
+    
+    private Integer total;
+    private Integer pagina;
+    private Integer tamano;
+    
+    // faceta -> valor -> cantidad de resultados (aplicando todos los filtros salvo el de la propia faceta)
+    private Map<String, Map<String, Integer>> facetas;
+    
+    // Rango de precios de los resultados
+    private Double precioMinimo;
+    private Double precioMaximo;
+}
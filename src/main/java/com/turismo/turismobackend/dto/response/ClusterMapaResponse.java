@@ -0,0 +1,29 @@
+package com.turismo.turismobackend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterMapaResponse {
+    
+    // Coordenadas de la tesela (esquema web mercator z/x/y)
+    private Integer zoom;
+    private Integer x;
+    private Integer y;
+    
+    private Integer cantidad;
+    
+    // Centroide de los puntos agrupados
+    private Double latitud;
+    private Double longitud;
+    
+    private String tipoDominante;
+    
+    // Solo se informa cuando el cluster tiene un único elemento
+    private Long id;
+}
@@ -0,0 +1,28 @@
+package com.turismo.turismobackend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisponibilidadItemResponse {
+    
+    // Solo cuando la consulta corresponde a un item del carrito
+    private Long carritoItemId;
+    
+    private Long servicioId;
+    
+    private LocalDate fecha;
+    
+    private Integer cantidad;
+    
+    private Integer plazasDisponibles;
+    
+    private Boolean disponible;
+}
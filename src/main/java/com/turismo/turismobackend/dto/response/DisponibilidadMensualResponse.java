@@ -0,0 +1,26 @@
+package com.turismo.turismobackend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisponibilidadMensualResponse {
+    
+    private Long id;
+    
+    // Mes consultado en formato yyyy-MM
+    private String mes;
+    
+    private Integer capacidadMaxima;
+    
+    // plazasDisponibles[d - 1] = plazas libres el día d del mes
+    private int[] plazasDisponibles;
+    
+    // Bit (d - 1) encendido si el día d está agotado o ya pasó
+    private Long diasAgotados;
+}
@@ -0,0 +1,23 @@
+package com.turismo.turismobackend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatrizDistanciasResponse {
+    
+    private Integer cantidad;
+    
+    // Orden de las filas/columnas cuando la matriz se pidió por servicios
+    private List<Long> servicioIds;
+    
+    // distanciasKm[i][j] = distancia en km entre el punto i y el punto j
+    private double[][] distanciasKm;
+}
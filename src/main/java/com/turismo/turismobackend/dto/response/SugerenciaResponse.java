@@ -0,0 +1,21 @@
+package com.turismo.turismobackend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SugerenciaResponse {
+    
+    private String texto;
+    
+    // PLAN, SERVICIO, EMPRENDEDOR o DISTRITO
+    private String tipo;
+    
+    // ID del plan, servicio, emprendedor o municipalidad sugerido
+    private Long id;
+}
@@ -0,0 +1,19 @@
+package com.turismo.turismobackend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UbicacionCercanaResponse {
+    
+    private Double distanciaKm;
+    
+    // Solo uno de los dos se informa, según el tipo consultado
+    private EmprendedorResponse emprendedor;
+    private ServicioTuristicoResponse servicio;
+}
@@ -0,0 +1,35 @@
+package com.turismo.turismobackend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Plazas reservadas de un servicio en una fecha. Se mantiene con actualizaciones condicionales al reservar
+// y cancelar, en lugar de sumar los items de reserva en cada verificación de capacidad.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "capacidad_servicios",
+        uniqueConstraints = @UniqueConstraint(name = "uk_capacidad_servicio_fecha", columnNames = {"servicio_id", "fecha"}))
+public class CapacidadServicio {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Sin clave foránea para no impedir la eliminación del servicio
+    @Column(name = "servicio_id", nullable = false)
+    private Long servicioId;
+    
+    @Column(nullable = false)
+    private LocalDate fecha;
+    
+    @Column(name = "personas_reservadas", nullable = false)
+    private Integer personasReservadas;
+}
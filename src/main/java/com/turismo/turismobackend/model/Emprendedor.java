@@ -14,7 +14,9 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "emprendedores")
+@Table(name = "emprendedores", indexes = {
+        @Index(name = "idx_emprendedores_lat_lng", columnList = "latitud, longitud")
+})
 public class Emprendedor {
     
     @Id
@@ -0,0 +1,35 @@
+package com.turismo.turismobackend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Plazas reservadas de una salida (plan + fecha de inicio). Se guardan las reservadas y no las libres
+// para que un cambio en la capacidad máxima del plan no deje la fila desactualizada.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "inventario_planes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_inventario_plan_fecha", columnNames = {"plan_id", "fecha"}))
+public class InventarioPlan {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Sin clave foránea para no impedir la eliminación del plan
+    @Column(name = "plan_id", nullable = false)
+    private Long planId;
+    
+    @Column(nullable = false)
+    private LocalDate fecha;
+    
+    @Column(name = "personas_reservadas", nullable = false)
+    private Integer personasReservadas;
+}
@@ -0,0 +1,42 @@
+package com.turismo.turismobackend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Plazas apartadas para un item del carrito hasta que se confirme la reserva o venza el plazo.
+// Mientras existe la fila, sus plazas están sumadas en capacidad_servicios.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "retenciones_carrito",
+        uniqueConstraints = @UniqueConstraint(name = "uk_retencion_carrito_item", columnNames = {"carrito_item_id"}))
+public class RetencionCarrito {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Sin claves foráneas: la retención puede sobrevivir al item hasta que el barredor la libere
+    @Column(name = "carrito_item_id", nullable = false)
+    private Long carritoItemId;
+    
+    @Column(name = "servicio_id", nullable = false)
+    private Long servicioId;
+    
+    @Column(nullable = false)
+    private LocalDate fecha;
+    
+    @Column(nullable = false)
+    private Integer cantidad;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiracion;
+}
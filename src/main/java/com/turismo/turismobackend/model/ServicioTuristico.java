@@ -15,7 +15,9 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "servicios_turisticos")
+@Table(name = "servicios_turisticos", indexes = {
+        @Index(name = "idx_servicios_lat_lng", columnList = "latitud, longitud")
+})
 public class ServicioTuristico {
     
     @Id
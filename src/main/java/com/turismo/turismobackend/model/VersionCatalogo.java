@@ -0,0 +1,25 @@
+package com.turismo.turismobackend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Versión de un listado del catálogo. Está en la base de datos para que todos los nodos de la API
+// calculen el mismo ETag y para que el incremento se confirme junto con los datos que lo provocan.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "versiones_catalogo")
+public class VersionCatalogo {
+    
+    @Id
+    @Column(length = 20)
+    private String agregado;
+    
+    @Column(nullable = false)
+    private Long version;
+}
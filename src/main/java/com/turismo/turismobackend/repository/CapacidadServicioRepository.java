@@ -0,0 +1,46 @@
+package com.turismo.turismobackend.repository;
+
+import com.turismo.turismobackend.model.CapacidadServicio;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CapacidadServicioRepository extends JpaRepository<CapacidadServicio, Long> {
+    
+    Optional<CapacidadServicio> findByServicioIdAndFecha(Long servicioId, LocalDate fecha);
+    
+    boolean existsByServicioIdAndFecha(Long servicioId, LocalDate fecha);
+    
+    List<CapacidadServicio> findByServicioIdAndFechaBetween(Long servicioId, LocalDate desde, LocalDate hasta);
+    
+    // Puede traer combinaciones (servicio, fecha) de más: quien llama filtra las que pidió
+    List<CapacidadServicio> findByServicioIdInAndFechaIn(Collection<Long> servicioIds, Collection<LocalDate> fechas);
+    
+    // Crea la fila de (servicio, fecha) si no existe, partiendo de las reservas ya registradas
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO capacidad_servicios (servicio_id, fecha, personas_reservadas) " +
+                   "SELECT :servicioId, :fecha, COALESCE(SUM(ri.cantidad), 0) FROM reserva_carrito_items ri " +
+                   "WHERE ri.servicio_id = :servicioId AND ri.fecha_servicio = :fecha AND ri.estado <> 'CANCELADO'",
+           nativeQuery = true)
+    int inicializar(@Param("servicioId") Long servicioId, @Param("fecha") LocalDate fecha);
+    
+    // Devuelve 0 si no hay plazas suficientes: la verificación y el incremento son una sola sentencia
+    @Modifying
+    @Query("UPDATE CapacidadServicio c SET c.personasReservadas = c.personasReservadas + :cantidad " +
+           "WHERE c.servicioId = :servicioId AND c.fecha = :fecha AND c.personasReservadas + :cantidad <= :capacidadMaxima")
+    int reservar(@Param("servicioId") Long servicioId, @Param("fecha") LocalDate fecha,
+                 @Param("cantidad") int cantidad, @Param("capacidadMaxima") int capacidadMaxima);
+    
+    @Modifying
+    @Query("UPDATE CapacidadServicio c SET c.personasReservadas = c.personasReservadas - :cantidad " +
+           "WHERE c.servicioId = :servicioId AND c.fecha = :fecha AND c.personasReservadas >= :cantidad")
+    int liberar(@Param("servicioId") Long servicioId, @Param("fecha") LocalDate fecha, @Param("cantidad") int cantidad);
+}
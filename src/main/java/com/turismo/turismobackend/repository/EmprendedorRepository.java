@@ -5,6 +5,8 @@ import com.turismo.turismobackend.model.Emprendedor;
 import com.turismo.turismobackend.model.Municipalidad;
 import com.turismo.turismobackend.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,4 +21,14 @@ public interface EmprendedorRepository extends JpaRepository<Emprendedor, Long>
     List<Emprendedor> findByRubro(String rubro);
     List<Emprendedor> findByCategoria(Categoria categoria);
     boolean existsByNombreEmpresa(String nombreEmpresa);
+    
+    @Query("SELECT e.id, e.latitud, e.longitud FROM Emprendedor e WHERE e.latitud IS NOT NULL AND e.longitud IS NOT NULL")
+    List<Object[]> findCoordenadas();
+    
+    @Query("SELECT e.id, e.nombreEmpresa FROM Emprendedor e")
+    List<Object[]> findNombresEmpresa();
+    
+    @Query("SELECT e FROM Emprendedor e WHERE e.latitud BETWEEN :latMin AND :latMax AND e.longitud BETWEEN :lngMin AND :lngMax")
+    List<Emprendedor> findByCajaEnvolvente(@Param("latMin") Double latMin, @Param("latMax") Double latMax,
+                                           @Param("lngMin") Double lngMin, @Param("lngMax") Double lngMax);
 }
\ No newline at end of file
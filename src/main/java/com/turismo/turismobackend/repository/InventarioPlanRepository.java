@@ -0,0 +1,42 @@
+package com.turismo.turismobackend.repository;
+
+import com.turismo.turismobackend.model.InventarioPlan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventarioPlanRepository extends JpaRepository<InventarioPlan, Long> {
+    
+    Optional<InventarioPlan> findByPlanIdAndFecha(Long planId, LocalDate fecha);
+    
+    boolean existsByPlanIdAndFecha(Long planId, LocalDate fecha);
+    
+    List<InventarioPlan> findByPlanIdAndFechaBetween(Long planId, LocalDate desde, LocalDate hasta);
+    
+    // Crea la fila de la salida si no existe, partiendo de las reservas ya registradas
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO inventario_planes (plan_id, fecha, personas_reservadas) " +
+                   "SELECT :planId, :fecha, COALESCE(SUM(r.numero_personas), 0) FROM reservas r " +
+                   "WHERE r.plan_id = :planId AND r.fecha_inicio = :fecha AND r.estado <> 'CANCELADA'",
+           nativeQuery = true)
+    int inicializar(@Param("planId") Long planId, @Param("fecha") LocalDate fecha);
+    
+    // Devuelve 0 si no hay plazas suficientes: la verificación y la actualización son una sola sentencia
+    @Modifying
+    @Query("UPDATE InventarioPlan i SET i.personasReservadas = i.personasReservadas + :personas " +
+           "WHERE i.planId = :planId AND i.fecha = :fecha AND i.personasReservadas + :personas <= :capacidadMaxima")
+    int reservar(@Param("planId") Long planId, @Param("fecha") LocalDate fecha,
+                 @Param("personas") int personas, @Param("capacidadMaxima") int capacidadMaxima);
+    
+    @Modifying
+    @Query("UPDATE InventarioPlan i SET i.personasReservadas = i.personasReservadas - :personas " +
+           "WHERE i.planId = :planId AND i.fecha = :fecha AND i.personasReservadas >= :personas")
+    int liberar(@Param("planId") Long planId, @Param("fecha") LocalDate fecha, @Param("personas") int personas);
+}
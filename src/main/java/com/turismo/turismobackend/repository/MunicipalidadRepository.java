@@ -3,6 +3,7 @@ package com.turismo.turismobackend.repository;
 import com.turismo.turismobackend.model.Municipalidad;
 import com.turismo.turismobackend.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +17,7 @@ public interface MunicipalidadRepository extends JpaRepository<Municipalidad, Lo
     List<Municipalidad> findByProvincia(String provincia);
     List<Municipalidad> findByDistrito(String distrito);
     boolean existsByNombre(String nombre);
+    
+    @Query("SELECT m.id, m.distrito FROM Municipalidad m WHERE m.distrito IS NOT NULL")
+    List<Object[]> findDistritos();
 }
\ No newline at end of file
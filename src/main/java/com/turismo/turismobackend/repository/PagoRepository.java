@@ -1,14 +1,19 @@
 package com.turismo.turismobackend.repository;
 
 import com.turismo.turismobackend.model.Pago;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PagoRepository extends JpaRepository<Pago, Long> {
@@ -30,12 +35,25 @@ public interface PagoRepository extends JpaRepository<Pago, Long> {
     @Query("SELECT p FROM Pago p WHERE p.reserva.usuario.id = :usuarioId")
     List<Pago> findByUsuarioId(@Param("usuarioId") Long usuarioId);
     
-    @Query("SELECT p FROM Pago p WHERE p.reserva.plan.municipalidad.id = :municipalidadId")
-    List<Pago> findByMunicipalidadId(@Param("municipalidadId") Long municipalidadId);
-    
     @Query("SELECT p FROM Pago p WHERE p.reserva.id = :reservaId AND p.estado = 'CONFIRMADO'")
     List<Pago> findPagosConfirmadosByReserva(@Param("reservaId") Long reservaId);
     
     @Query("SELECT SUM(p.monto) FROM Pago p WHERE p.reserva.id = :reservaId AND p.estado = 'CONFIRMADO'")
     Long getTotalPagadoByReserva(@Param("reservaId") Long reservaId);
-}
\ No newline at end of file
+    
+    // Paginación por cursor: siguientes registros con id mayor a :after, en orden de id
+    @Query("SELECT p FROM Pago p WHERE p.id > :after ORDER BY p.id")
+    List<Pago> findSiguientes(@Param("after") Long after, Pageable pageable);
+    
+    @Query("SELECT p FROM Pago p WHERE p.reserva.plan.municipalidad.id = :municipalidadId AND p.id > :after ORDER BY p.id")
+    List<Pago> findSiguientesByMunicipalidadId(@Param("municipalidadId") Long municipalidadId,
+                                               @Param("after") Long after, Pageable pageable);
+    
+    // Exportación en streaming: ver ReservaRepository.streamByMunicipalidadId
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Pago p JOIN FETCH p.reserva r WHERE r.plan.municipalidad.id = :municipalidadId ORDER BY p.id")
+    Stream<Pago> streamByMunicipalidadId(@Param("municipalidadId") Long municipalidadId);
+}
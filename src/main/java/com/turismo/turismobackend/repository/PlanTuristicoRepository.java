@@ -1,27 +1,59 @@
 package com.turismo.turismobackend.repository;
 
 import com.turismo.turismobackend.model.PlanTuristico;
+import com.turismo.turismobackend.repository.projection.PlanListadoProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PlanTuristicoRepository extends JpaRepository<PlanTuristico, Long> {
     
+    // Columnas del listado: plan, municipalidad y creador con JOIN. El total de reservas no va aquí: el listado
+    // se guarda en caché y se sirve con ETag, y cambiaría con cada reserva
+    String SELECT_LISTADO = "SELECT p.id AS id, p.nombre AS nombre, p.descripcion AS descripcion, p.precioTotal AS precioTotal, " +
+            "p.duracionDias AS duracionDias, p.capacidadMaxima AS capacidadMaxima, p.estado AS estado, " +
+            "p.nivelDificultad AS nivelDificultad, p.imagenPrincipalUrl AS imagenPrincipalUrl, p.itinerario AS itinerario, " +
+            "p.incluye AS incluye, p.noIncluye AS noIncluye, p.recomendaciones AS recomendaciones, p.requisitos AS requisitos, " +
+            "p.fechaCreacion AS fechaCreacion, p.fechaActualizacion AS fechaActualizacion, " +
+            "m.id AS municipalidadId, m.nombre AS municipalidadNombre, m.departamento AS municipalidadDepartamento, " +
+            "m.provincia AS municipalidadProvincia, m.distrito AS municipalidadDistrito, " +
+            "u.id AS usuarioCreadorId, u.nombre AS usuarioCreadorNombre, u.apellido AS usuarioCreadorApellido, " +
+            "u.username AS usuarioCreadorUsername, u.email AS usuarioCreadorEmail " +
+            "FROM PlanTuristico p JOIN p.municipalidad m JOIN p.usuarioCreador u ";
+    
+    // Las consultas que devuelven entidades para armar PlanTuristicoResponse traen municipalidad y creador
+    // en el mismo SELECT; servicios y total de reservas se cargan por lote en el servicio
+    @EntityGraph(attributePaths = {"municipalidad", "usuarioCreador"})
+    Optional<PlanTuristico> findConDetallesById(Long id);
+    
+    @EntityGraph(attributePaths = {"municipalidad", "usuarioCreador"})
+    List<PlanTuristico> findByIdIn(Collection<Long> ids);
+    
+    @EntityGraph(attributePaths = {"municipalidad", "usuarioCreador"})
     List<PlanTuristico> findByMunicipalidadId(Long municipalidadId);
     
+    @EntityGraph(attributePaths = {"municipalidad", "usuarioCreador"})
     List<PlanTuristico> findByUsuarioCreadorId(Long usuarioId);
     
+    @EntityGraph(attributePaths = {"municipalidad", "usuarioCreador"})
     List<PlanTuristico> findByEstado(PlanTuristico.EstadoPlan estado);
     
+    @EntityGraph(attributePaths = {"municipalidad", "usuarioCreador"})
     List<PlanTuristico> findByNivelDificultad(PlanTuristico.NivelDificultad nivelDificultad);
     
+    @EntityGraph(attributePaths = {"municipalidad", "usuarioCreador"})
     List<PlanTuristico> findByDuracionDiasBetween(Integer duracionMin, Integer duracionMax);
     
+    @EntityGraph(attributePaths = {"municipalidad", "usuarioCreador"})
     List<PlanTuristico> findByPrecioTotalBetween(BigDecimal precioMin, BigDecimal precioMax);
     
     List<PlanTuristico> findByCapacidadMaximaGreaterThanEqual(Integer capacidadMinima);
@@ -37,6 +69,16 @@ public interface PlanTuristicoRepository extends JpaRepository<PlanTuristico, Lo
     @Query("SELECT DISTINCT p FROM PlanTuristico p JOIN p.servicios sp WHERE sp.servicio.tipo = :tipoServicio")
     List<PlanTuristico> findByTipoServicio(@Param("tipoServicio") com.turismo.turismobackend.model.ServicioTuristico.TipoServicio tipoServicio);
     
-    @Query("SELECT p FROM PlanTuristico p WHERE SIZE(p.reservas) > 0 ORDER BY SIZE(p.reservas) DESC")
-    List<PlanTuristico> findMostPopular();
-}
\ No newline at end of file
+    @Query("SELECT p.id, p.nombre, p.descripcion, p.incluye, p.requisitos FROM PlanTuristico p")
+    List<Object[]> findTextosIndexables();
+    
+    @Query("SELECT p.id, p.nombre FROM PlanTuristico p")
+    List<Object[]> findNombres();
+    
+    @Query("SELECT p.id, p.nivelDificultad, p.estado, m.id, p.precioTotal FROM PlanTuristico p LEFT JOIN p.municipalidad m")
+    List<Object[]> findFacetas();
+    
+    // Paginación por cursor: siguientes registros con id mayor a :after, en orden de id
+    @Query(SELECT_LISTADO + "WHERE p.id > :after ORDER BY p.id")
+    List<PlanListadoProjection> findListadoSiguientes(@Param("after") Long after, Pageable pageable);
+}
@@ -2,11 +2,13 @@ package com.turismo.turismobackend.repository;
 
 import com.turismo.turismobackend.model.ReservaCarritoItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -28,4 +30,24 @@ public interface ReservaCarritoItemRepository extends JpaRepository<ReservaCarri
     
     @Query("SELECT SUM(ri.cantidad) FROM ReservaCarritoItem ri WHERE ri.servicio.id = :servicioId AND ri.fechaServicio = :fecha AND ri.estado NOT IN ('CANCELADO')")
     Long countPersonasByServicioAndFecha(@Param("servicioId") Long servicioId, @Param("fecha") LocalDate fecha);
-}
\ No newline at end of file
+    
+    // Personas reservadas por fecha en un rango, en una sola consulta agrupada: fila = {fechaServicio, suma}
+    @Query("SELECT ri.fechaServicio, SUM(ri.cantidad) FROM ReservaCarritoItem ri WHERE ri.servicio.id = :servicioId " +
+           "AND ri.fechaServicio BETWEEN :desde AND :hasta AND ri.estado NOT IN ('CANCELADO') GROUP BY ri.fechaServicio")
+    List<Object[]> sumPersonasPorFecha(@Param("servicioId") Long servicioId,
+                                       @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+    
+    // Personas reservadas de varios servicios y fechas en una sola consulta: fila = {servicioId, fechaServicio, suma}
+    @Query("SELECT ri.servicio.id, ri.fechaServicio, SUM(ri.cantidad) FROM ReservaCarritoItem ri " +
+           "WHERE ri.servicio.id IN :servicioIds AND ri.fechaServicio IN :fechas AND ri.estado NOT IN ('CANCELADO') " +
+           "GROUP BY ri.servicio.id, ri.fechaServicio")
+    List<Object[]> sumPersonasPorServicioYFecha(@Param("servicioIds") Collection<Long> servicioIds,
+                                                @Param("fechas") Collection<LocalDate> fechas);
+    
+    // Transición condicional: devuelve 1 solo a quien cancela el item, así su capacidad se libera una única vez
+    // aunque lleguen cancelaciones concurrentes
+    @Modifying
+    @Query("UPDATE ReservaCarritoItem ri SET ri.estado = 'CANCELADO' " +
+           "WHERE ri.id = :id AND ri.estado NOT IN ('CANCELADO', 'COMPLETADO')")
+    int cancelar(@Param("id") Long id);
+}
@@ -1,19 +1,44 @@
 package com.turismo.turismobackend.repository;
 
 import com.turismo.turismobackend.model.Reserva;
+import com.turismo.turismobackend.repository.projection.ReservaListadoProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservaRepository extends JpaRepository<Reserva, Long> {
     
+    // Columnas del listado: reserva, plan, municipalidad del plan y usuario en un solo SELECT con JOIN
+    String SELECT_LISTADO = "SELECT r.id AS id, r.codigoReserva AS codigoReserva, r.fechaInicio AS fechaInicio, " +
+            "r.fechaFin AS fechaFin, r.numeroPersonas AS numeroPersonas, r.montoTotal AS montoTotal, " +
+            "r.montoDescuento AS montoDescuento, r.montoFinal AS montoFinal, r.estado AS estado, " +
+            "r.metodoPago AS metodoPago, r.observaciones AS observaciones, r.solicitudesEspeciales AS solicitudesEspeciales, " +
+            "r.contactoEmergencia AS contactoEmergencia, r.telefonoEmergencia AS telefonoEmergencia, " +
+            "r.fechaReserva AS fechaReserva, r.fechaConfirmacion AS fechaConfirmacion, " +
+            "r.fechaCancelacion AS fechaCancelacion, r.motivoCancelacion AS motivoCancelacion, " +
+            "p.id AS planId, p.nombre AS planNombre, p.descripcion AS planDescripcion, p.precioTotal AS planPrecioTotal, " +
+            "p.duracionDias AS planDuracionDias, p.capacidadMaxima AS planCapacidadMaxima, p.estado AS planEstado, " +
+            "p.nivelDificultad AS planNivelDificultad, p.imagenPrincipalUrl AS planImagenPrincipalUrl, " +
+            "m.id AS municipalidadId, m.nombre AS municipalidadNombre, m.departamento AS municipalidadDepartamento, " +
+            "m.provincia AS municipalidadProvincia, m.distrito AS municipalidadDistrito, " +
+            "u.id AS usuarioId, u.nombre AS usuarioNombre, u.apellido AS usuarioApellido, " +
+            "u.username AS usuarioUsername, u.email AS usuarioEmail " +
+            "FROM Reserva r JOIN r.plan p JOIN p.municipalidad m JOIN r.usuario u ";
+    
     Optional<Reserva> findByCodigoReserva(String codigoReserva);
     
     List<Reserva> findByUsuarioId(Long usuarioId);
@@ -37,6 +62,13 @@ public interface ReservaRepository extends JpaRepository<Reserva, Long> {
     List<Reserva> findByMunicipalidadIdAndEstado(@Param("municipalidadId") Long municipalidadId, 
                                                  @Param("estado") Reserva.EstadoReserva estado);
     
+    // Transición condicional: devuelve 1 solo a quien cancela la reserva, así sus plazas y su peso en el
+    // ranking se descuentan una única vez aunque lleguen cancelaciones concurrentes
+    @Modifying
+    @Query("UPDATE Reserva r SET r.estado = 'CANCELADA', r.fechaCancelacion = :fecha, r.motivoCancelacion = :motivo " +
+           "WHERE r.id = :id AND r.estado NOT IN ('CANCELADA', 'COMPLETADA')")
+    int cancelar(@Param("id") Long id, @Param("fecha") LocalDateTime fecha, @Param("motivo") String motivo);
+    
     @Query("SELECT r FROM Reserva r WHERE r.fechaInicio = :fecha AND r.plan.id = :planId")
     List<Reserva> findByFechaInicioAndPlanId(@Param("fecha") LocalDate fecha, @Param("planId") Long planId);
     
@@ -46,9 +78,41 @@ public interface ReservaRepository extends JpaRepository<Reserva, Long> {
     @Query("SELECT SUM(r.numeroPersonas) FROM Reserva r WHERE r.plan.id = :planId AND r.fechaInicio = :fecha AND r.estado NOT IN ('CANCELADA')")
     Long countPersonasByPlanAndDate(@Param("planId") Long planId, @Param("fecha") LocalDate fecha);
     
+    // Personas reservadas por fecha de inicio en un rango, en una sola consulta agrupada: fila = {fechaInicio, suma}
+    @Query("SELECT r.fechaInicio, SUM(r.numeroPersonas) FROM Reserva r WHERE r.plan.id = :planId " +
+           "AND r.fechaInicio BETWEEN :desde AND :hasta AND r.estado NOT IN ('CANCELADA') GROUP BY r.fechaInicio")
+    List<Object[]> sumPersonasPorFecha(@Param("planId") Long planId,
+                                       @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+    
+    // Carga inicial del ranking de planes populares: fila = {planId, fechaReserva}
+    @Query("SELECT r.plan.id, r.fechaReserva FROM Reserva r WHERE r.estado NOT IN ('CANCELADA')")
+    List<Object[]> findPlanYFechaDeReservasActivas();
+    
+    // Total de reservas de varios planes en una sola consulta agrupada: fila = {planId, total}
+    @Query("SELECT r.plan.id, COUNT(r) FROM Reserva r WHERE r.plan.id IN :planIds GROUP BY r.plan.id")
+    List<Object[]> countByPlanIdIn(@Param("planIds") Collection<Long> planIds);
+    
     @Query("SELECT r FROM Reserva r WHERE r.usuario.id = :usuarioId ORDER BY r.fechaReserva DESC")
     List<Reserva> findByUsuarioIdOrderByFechaReservaDesc(@Param("usuarioId") Long usuarioId);
 
     @Query("SELECT COUNT(r) FROM Reserva r WHERE r.usuario.id = :usuarioId AND r.estado = 'COMPLETADA'")
     Long countReservasCompletadasByUsuario(@Param("usuarioId") Long usuarioId);
-}
\ No newline at end of file
+    
+    // Paginación por cursor: siguientes registros con id mayor a :after, en orden de id
+    @Query(SELECT_LISTADO + "WHERE r.id > :after ORDER BY r.id")
+    List<ReservaListadoProjection> findListadoSiguientes(@Param("after") Long after, Pageable pageable);
+    
+    @Query(SELECT_LISTADO + "WHERE m.id = :municipalidadId AND r.id > :after ORDER BY r.id")
+    List<ReservaListadoProjection> findListadoSiguientesByMunicipalidadId(@Param("municipalidadId") Long municipalidadId,
+                                                                          @Param("after") Long after, Pageable pageable);
+    
+    // Exportación en streaming. Con MySQL, el fetch size Integer.MIN_VALUE hace que el driver entregue las
+    // filas de a una en lugar de cargar el resultado completo; mientras se lee, la conexión no admite otras
+    // consultas, por eso el plan viene en el mismo JOIN y del usuario solo se usa el id
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Reserva r JOIN FETCH r.plan p WHERE p.municipalidad.id = :municipalidadId ORDER BY r.id")
+    Stream<Reserva> streamByMunicipalidadId(@Param("municipalidadId") Long municipalidadId);
+}
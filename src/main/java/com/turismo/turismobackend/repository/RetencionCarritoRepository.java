@@ -0,0 +1,34 @@
+package com.turismo.turismobackend.repository;
+
+import com.turismo.turismobackend.model.RetencionCarrito;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RetencionCarritoRepository extends JpaRepository<RetencionCarrito, Long> {
+    
+    Optional<RetencionCarrito> findByCarritoItemId(Long carritoItemId);
+    
+    List<RetencionCarrito> findByCarritoItemIdIn(Collection<Long> carritoItemIds);
+    
+    // Solo id y vencimiento para cargar la cola del barredor al arrancar: fila = {id, expiracion}
+    @Query("SELECT r.id, r.expiracion FROM RetencionCarrito r")
+    List<Object[]> findVencimientos();
+    
+    // Quien borra la fila (checkout, cambio en el carrito o barredor) es el único que dispone de sus plazas
+    @Modifying
+    @Query("DELETE FROM RetencionCarrito r WHERE r.id = :id")
+    int eliminar(@Param("id") Long id);
+    
+    @Modifying
+    @Query("DELETE FROM RetencionCarrito r WHERE r.id = :id AND r.expiracion <= :ahora")
+    int eliminarSiVencida(@Param("id") Long id, @Param("ahora") LocalDateTime ahora);
+}
@@ -2,6 +2,7 @@ package com.turismo.turismobackend.repository;
 
 import com.turismo.turismobackend.model.ServicioTuristico;
 import com.turismo.turismobackend.model.ServicioPlan;
+import com.turismo.turismobackend.repository.projection.ServicioPlanListadoProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -37,4 +39,19 @@ public interface ServicioPlanRepository extends JpaRepository<ServicioPlan, Long
     @Query("SELECT sp FROM ServicioPlan sp WHERE sp.plan.id = :planId AND sp.servicio.tipo = :tipoServicio")
     List<ServicioPlan> findByPlanIdAndTipoServicio(@Param("planId") Long planId, 
                                                    @Param("tipoServicio") ServicioTuristico.TipoServicio tipoServicio);
-}
\ No newline at end of file
+    
+    @Query("SELECT sp FROM ServicioPlan sp JOIN FETCH sp.servicio WHERE sp.plan.id IN :planIds ORDER BY sp.plan.id, sp.id")
+    List<ServicioPlan> findByPlanIdInConServicio(@Param("planIds") Collection<Long> planIds);
+    
+    // Servicios de varios planes en una sola consulta, para armar un listado de planes sin un SELECT por plan
+    @Query("SELECT sp.plan.id AS planId, sp.id AS id, sp.diaDelPlan AS diaDelPlan, sp.ordenEnElDia AS ordenEnElDia, " +
+           "sp.horaInicio AS horaInicio, sp.horaFin AS horaFin, sp.precioEspecial AS precioEspecial, sp.notas AS notas, " +
+           "sp.esOpcional AS esOpcional, sp.esPersonalizable AS esPersonalizable, " +
+           "s.id AS servicioId, s.nombre AS servicioNombre, s.descripcion AS servicioDescripcion, s.precio AS servicioPrecio, " +
+           "s.duracionHoras AS servicioDuracionHoras, s.capacidadMaxima AS servicioCapacidadMaxima, " +
+           "s.tipo AS servicioTipo, s.estado AS servicioEstado, s.ubicacion AS servicioUbicacion, " +
+           "s.requisitos AS servicioRequisitos, s.incluye AS servicioIncluye, s.noIncluye AS servicioNoIncluye, " +
+           "s.imagenUrl AS servicioImagenUrl " +
+           "FROM ServicioPlan sp JOIN sp.servicio s WHERE sp.plan.id IN :planIds ORDER BY sp.plan.id, sp.id")
+    List<ServicioPlanListadoProjection> findListadoByPlanIdIn(@Param("planIds") Collection<Long> planIds);
+}
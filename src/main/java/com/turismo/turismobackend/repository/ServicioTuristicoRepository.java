@@ -1,6 +1,8 @@
 package com.turismo.turismobackend.repository;
 
 import com.turismo.turismobackend.model.ServicioTuristico;
+import com.turismo.turismobackend.repository.projection.ServicioListadoProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,6 +14,17 @@ import java.util.List;
 @Repository
 public interface ServicioTuristicoRepository extends JpaRepository<ServicioTuristico, Long> {
     
+    // Columnas del listado: servicio, emprendedor y municipalidad en un solo SELECT con JOIN
+    String SELECT_LISTADO = "SELECT s.id AS id, s.nombre AS nombre, s.descripcion AS descripcion, s.precio AS precio, " +
+            "s.duracionHoras AS duracionHoras, s.capacidadMaxima AS capacidadMaxima, s.tipo AS tipo, s.estado AS estado, " +
+            "s.ubicacion AS ubicacion, s.latitud AS latitud, s.longitud AS longitud, s.requisitos AS requisitos, " +
+            "s.incluye AS incluye, s.noIncluye AS noIncluye, s.imagenUrl AS imagenUrl, " +
+            "e.id AS emprendedorId, e.nombreEmpresa AS emprendedorNombreEmpresa, e.rubro AS emprendedorRubro, " +
+            "e.telefono AS emprendedorTelefono, e.email AS emprendedorEmail, " +
+            "m.id AS municipalidadId, m.nombre AS municipalidadNombre, m.departamento AS municipalidadDepartamento, " +
+            "m.provincia AS municipalidadProvincia, m.distrito AS municipalidadDistrito " +
+            "FROM ServicioTuristico s JOIN s.emprendedor e LEFT JOIN e.municipalidad m ";
+    
     List<ServicioTuristico> findByEmprendedorId(Long emprendedorId);
     
     List<ServicioTuristico> findByEmprendedorMunicipalidadId(Long municipalidadId);
@@ -34,4 +47,25 @@ public interface ServicioTuristicoRepository extends JpaRepository<ServicioTuris
     
     @Query("SELECT s FROM ServicioTuristico s WHERE s.emprendedor.categoria.id = :categoriaId")
     List<ServicioTuristico> findByEmprendedorCategoriaId(@Param("categoriaId") Long categoriaId);
-}
\ No newline at end of file
+    
+    @Query("SELECT s.id, s.latitud, s.longitud, s.tipo FROM ServicioTuristico s WHERE s.latitud IS NOT NULL AND s.longitud IS NOT NULL")
+    List<Object[]> findCoordenadas();
+    
+    @Query("SELECT s.id, s.nombre, s.descripcion, s.incluye, s.requisitos FROM ServicioTuristico s")
+    List<Object[]> findTextosIndexables();
+    
+    @Query("SELECT s.id, s.nombre FROM ServicioTuristico s")
+    List<Object[]> findNombres();
+    
+    @Query("SELECT s.id, s.tipo, s.estado, m.id, c.id, s.precio FROM ServicioTuristico s " +
+           "LEFT JOIN s.emprendedor e LEFT JOIN e.municipalidad m LEFT JOIN e.categoria c")
+    List<Object[]> findFacetas();
+    
+    @Query("SELECT s FROM ServicioTuristico s WHERE s.latitud BETWEEN :latMin AND :latMax AND s.longitud BETWEEN :lngMin AND :lngMax")
+    List<ServicioTuristico> findByCajaEnvolvente(@Param("latMin") Double latMin, @Param("latMax") Double latMax,
+                                                 @Param("lngMin") Double lngMin, @Param("lngMax") Double lngMax);
+    
+    // Paginación por cursor: siguientes registros con id mayor a :after, en orden de id
+    @Query(SELECT_LISTADO + "WHERE s.id > :after ORDER BY s.id")
+    List<ServicioListadoProjection> findListadoSiguientes(@Param("after") Long after, Pageable pageable);
+}
@@ -2,8 +2,10 @@ package com.turismo.turismobackend.repository;
 
 import com.turismo.turismobackend.model.Rol;
 import com.turismo.turismobackend.model.Usuario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,4 +22,8 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     List<Usuario> findUsuariosSinEmprendedor();
     
     List<Usuario> findByRolesContaining(Rol rol);
-}
\ No newline at end of file
+    
+    // Paginación por cursor: siguientes registros con id mayor a :after, en orden de id
+    @Query("SELECT u FROM Usuario u WHERE u.id > :after ORDER BY u.id")
+    List<Usuario> findSiguientes(@Param("after") Long after, Pageable pageable);
+}
@@ -0,0 +1,20 @@
+package com.turismo.turismobackend.repository;
+
+import com.turismo.turismobackend.model.VersionCatalogo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface VersionCatalogoRepository extends JpaRepository<VersionCatalogo, String> {
+    
+    // Una sola sentencia para todos los agregados: dos escrituras concurrentes bloquean las filas en el
+    // mismo orden y no pueden quedar esperándose entre sí
+    @Modifying
+    @Query("UPDATE VersionCatalogo v SET v.version = v.version + 1 WHERE v.agregado IN :agregados")
+    int incrementar(@Param("agregados") Collection<String> agregados);
+}
@@ -0,0 +1,39 @@
+package com.turismo.turismobackend.repository.projection;
+
+import com.turismo.turismobackend.model.PlanTuristico;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Fila plana del listado de planes; los servicios del plan llegan aparte en ServicioPlanListadoProjection
+public interface PlanListadoProjection {
+    
+    Long getId();
+    String getNombre();
+    String getDescripcion();
+    BigDecimal getPrecioTotal();
+    Integer getDuracionDias();
+    Integer getCapacidadMaxima();
+    PlanTuristico.EstadoPlan getEstado();
+    PlanTuristico.NivelDificultad getNivelDificultad();
+    String getImagenPrincipalUrl();
+    String getItinerario();
+    String getIncluye();
+    String getNoIncluye();
+    String getRecomendaciones();
+    String getRequisitos();
+    LocalDateTime getFechaCreacion();
+    LocalDateTime getFechaActualizacion();
+    
+    Long getMunicipalidadId();
+    String getMunicipalidadNombre();
+    String getMunicipalidadDepartamento();
+    String getMunicipalidadProvincia();
+    String getMunicipalidadDistrito();
+    
+    Long getUsuarioCreadorId();
+    String getUsuarioCreadorNombre();
+    String getUsuarioCreadorApellido();
+    String getUsuarioCreadorUsername();
+    String getUsuarioCreadorEmail();
+}
@@ -0,0 +1,53 @@
+package com.turismo.turismobackend.repository.projection;
+
+import com.turismo.turismobackend.model.PlanTuristico;
+import com.turismo.turismobackend.model.Reserva;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Fila plana del listado de reservas: reserva + plan + municipalidad del plan + usuario
+public interface ReservaListadoProjection {
+    
+    Long getId();
+    String getCodigoReserva();
+    LocalDate getFechaInicio();
+    LocalDate getFechaFin();
+    Integer getNumeroPersonas();
+    BigDecimal getMontoTotal();
+    BigDecimal getMontoDescuento();
+    BigDecimal getMontoFinal();
+    Reserva.EstadoReserva getEstado();
+    Reserva.MetodoPago getMetodoPago();
+    String getObservaciones();
+    String getSolicitudesEspeciales();
+    String getContactoEmergencia();
+    String getTelefonoEmergencia();
+    LocalDateTime getFechaReserva();
+    LocalDateTime getFechaConfirmacion();
+    LocalDateTime getFechaCancelacion();
+    String getMotivoCancelacion();
+    
+    Long getPlanId();
+    String getPlanNombre();
+    String getPlanDescripcion();
+    BigDecimal getPlanPrecioTotal();
+    Integer getPlanDuracionDias();
+    Integer getPlanCapacidadMaxima();
+    PlanTuristico.EstadoPlan getPlanEstado();
+    PlanTuristico.NivelDificultad getPlanNivelDificultad();
+    String getPlanImagenPrincipalUrl();
+    
+    Long getMunicipalidadId();
+    String getMunicipalidadNombre();
+    String getMunicipalidadDepartamento();
+    String getMunicipalidadProvincia();
+    String getMunicipalidadDistrito();
+    
+    Long getUsuarioId();
+    String getUsuarioNombre();
+    String getUsuarioApellido();
+    String getUsuarioUsername();
+    String getUsuarioEmail();
+}
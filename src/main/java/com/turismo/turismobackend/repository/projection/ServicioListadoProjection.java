@@ -0,0 +1,37 @@
+package com.turismo.turismobackend.repository.projection;
+
+import com.turismo.turismobackend.model.ServicioTuristico;
+
+import java.math.BigDecimal;
+
+// Fila plana del listado de servicios: servicio + emprendedor + municipalidad en una sola consulta
+public interface ServicioListadoProjection {
+    
+    Long getId();
+    String getNombre();
+    String getDescripcion();
+    BigDecimal getPrecio();
+    Integer getDuracionHoras();
+    Integer getCapacidadMaxima();
+    ServicioTuristico.TipoServicio getTipo();
+    ServicioTuristico.EstadoServicio getEstado();
+    String getUbicacion();
+    Double getLatitud();
+    Double getLongitud();
+    String getRequisitos();
+    String getIncluye();
+    String getNoIncluye();
+    String getImagenUrl();
+    
+    Long getEmprendedorId();
+    String getEmprendedorNombreEmpresa();
+    String getEmprendedorRubro();
+    String getEmprendedorTelefono();
+    String getEmprendedorEmail();
+    
+    Long getMunicipalidadId();
+    String getMunicipalidadNombre();
+    String getMunicipalidadDepartamento();
+    String getMunicipalidadProvincia();
+    String getMunicipalidadDistrito();
+}
@@ -0,0 +1,33 @@
+package com.turismo.turismobackend.repository.projection;
+
+import com.turismo.turismobackend.model.ServicioTuristico;
+
+import java.math.BigDecimal;
+
+public interface ServicioPlanListadoProjection {
+    
+    Long getPlanId();
+    Long getId();
+    Integer getDiaDelPlan();
+    Integer getOrdenEnElDia();
+    String getHoraInicio();
+    String getHoraFin();
+    BigDecimal getPrecioEspecial();
+    String getNotas();
+    Boolean getEsOpcional();
+    Boolean getEsPersonalizable();
+    
+    Long getServicioId();
+    String getServicioNombre();
+    String getServicioDescripcion();
+    BigDecimal getServicioPrecio();
+    Integer getServicioDuracionHoras();
+    Integer getServicioCapacidadMaxima();
+    ServicioTuristico.TipoServicio getServicioTipo();
+    ServicioTuristico.EstadoServicio getServicioEstado();
+    String getServicioUbicacion();
+    String getServicioRequisitos();
+    String getServicioIncluye();
+    String getServicioNoIncluye();
+    String getServicioImagenUrl();
+}
@@ -0,0 +1,93 @@
+package com.turismo.turismobackend.service;
+
+import com.turismo.turismobackend.dto.response.SugerenciaResponse;
+import com.turismo.turismobackend.model.Emprendedor;
+import com.turismo.turismobackend.model.Municipalidad;
+import com.turismo.turismobackend.model.PlanTuristico;
+import com.turismo.turismobackend.model.ServicioTuristico;
+import com.turismo.turismobackend.repository.EmprendedorRepository;
+import com.turismo.turismobackend.repository.MunicipalidadRepository;
+import com.turismo.turismobackend.repository.PlanTuristicoRepository;
+import com.turismo.turismobackend.repository.ServicioTuristicoRepository;
+import com.turismo.turismobackend.util.TrieAutocompletado;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class AutocompletadoService {
+    
+    private static final String TIPO_PLAN = "PLAN";
+    private static final String TIPO_SERVICIO = "SERVICIO";
+    private static final String TIPO_EMPRENDEDOR = "EMPRENDEDOR";
+    private static final String TIPO_DISTRITO = "DISTRITO";
+    
+    private final PlanTuristicoRepository planRepository;
+    private final ServicioTuristicoRepository servicioRepository;
+    private final EmprendedorRepository emprendedorRepository;
+    private final MunicipalidadRepository municipalidadRepository;
+    
+    private final TrieAutocompletado trie = new TrieAutocompletado();
+    
+    @PostConstruct
+    public void cargarSugerencias() {
+        for (Object[] fila : planRepository.findNombres()) {
+            trie.actualizar(TIPO_PLAN, (Long) fila[0], (String) fila[1]);
+        }
+        for (Object[] fila : servicioRepository.findNombres()) {
+            trie.actualizar(TIPO_SERVICIO, (Long) fila[0], (String) fila[1]);
+        }
+        for (Object[] fila : emprendedorRepository.findNombresEmpresa()) {
+            trie.actualizar(TIPO_EMPRENDEDOR, (Long) fila[0], (String) fila[1]);
+        }
+        for (Object[] fila : municipalidadRepository.findDistritos()) {
+            trie.actualizar(TIPO_DISTRITO, (Long) fila[0], (String) fila[1]);
+        }
+    }
+    
+    public List<SugerenciaResponse> sugerir(String prefijo, int limite) {
+        return trie.sugerir(prefijo, limite).stream()
+                .map(sugerencia -> SugerenciaResponse.builder()
+                        .texto(sugerencia.getTexto())
+                        .tipo(sugerencia.getTipo())
+                        .id(sugerencia.getId())
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
+    public void actualizarPlan(PlanTuristico plan) {
+        trie.actualizar(TIPO_PLAN, plan.getId(), plan.getNombre());
+    }
+    
+    public void eliminarPlan(Long planId) {
+        trie.eliminar(TIPO_PLAN, planId);
+    }
+    
+    public void actualizarServicio(ServicioTuristico servicio) {
+        trie.actualizar(TIPO_SERVICIO, servicio.getId(), servicio.getNombre());
+    }
+    
+    public void eliminarServicio(Long servicioId) {
+        trie.eliminar(TIPO_SERVICIO, servicioId);
+    }
+    
+    public void actualizarEmprendedor(Emprendedor emprendedor) {
+        trie.actualizar(TIPO_EMPRENDEDOR, emprendedor.getId(), emprendedor.getNombreEmpresa());
+    }
+    
+    public void eliminarEmprendedor(Long emprendedorId) {
+        trie.eliminar(TIPO_EMPRENDEDOR, emprendedorId);
+    }
+    
+    public void actualizarMunicipalidad(Municipalidad municipalidad) {
+        trie.actualizar(TIPO_DISTRITO, municipalidad.getId(), municipalidad.getDistrito());
+    }
+    
+    public void eliminarMunicipalidad(Long municipalidadId) {
+        trie.eliminar(TIPO_DISTRITO, municipalidadId);
+    }
+}
@@ -0,0 +1,59 @@
+package com.turismo.turismobackend.service;
+
+import com.turismo.turismobackend.model.PlanTuristico;
+import com.turismo.turismobackend.model.ServicioTuristico;
+import com.turismo.turismobackend.repository.PlanTuristicoRepository;
+import com.turismo.turismobackend.repository.ServicioTuristicoRepository;
+import com.turismo.turismobackend.util.IndiceInvertido;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BusquedaService {
+    
+    private final PlanTuristicoRepository planRepository;
+    private final ServicioTuristicoRepository servicioRepository;
+    
+    // Índices sobre nombre (con mayor peso), descripcion, incluye y requisitos
+    private final IndiceInvertido indicePlanes = new IndiceInvertido();
+    private final IndiceInvertido indiceServicios = new IndiceInvertido();
+    
+    @PostConstruct
+    public void cargarIndices() {
+        for (Object[] fila : planRepository.findTextosIndexables()) {
+            indicePlanes.actualizar((Long) fila[0], (String) fila[1], (String) fila[2], (String) fila[3], (String) fila[4]);
+        }
+        for (Object[] fila : servicioRepository.findTextosIndexables()) {
+            indiceServicios.actualizar((Long) fila[0], (String) fila[1], (String) fila[2], (String) fila[3], (String) fila[4]);
+        }
+    }
+    
+    public void indexarPlan(PlanTuristico plan) {
+        indicePlanes.actualizar(plan.getId(), plan.getNombre(), plan.getDescripcion(), plan.getIncluye(), plan.getRequisitos());
+    }
+    
+    public void eliminarPlan(Long planId) {
+        indicePlanes.eliminar(planId);
+    }
+    
+    public void indexarServicio(ServicioTuristico servicio) {
+        indiceServicios.actualizar(servicio.getId(), servicio.getNombre(), servicio.getDescripcion(),
+                servicio.getIncluye(), servicio.getRequisitos());
+    }
+    
+    public void eliminarServicio(Long servicioId) {
+        indiceServicios.eliminar(servicioId);
+    }
+    
+    public List<Long> buscarPlanes(String termino, int limite) {
+        return indicePlanes.buscar(termino, limite);
+    }
+    
+    public List<Long> buscarServicios(String termino, int limite) {
+        return indiceServicios.buscar(termino, limite);
+    }
+}
@@ -0,0 +1,47 @@
+package com.turismo.turismobackend.service;
+
+import com.turismo.turismobackend.model.ServicioTuristico;
+import com.turismo.turismobackend.repository.CapacidadServicioRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CapacidadService {
+    
+    private final CapacidadServicioRepository capacidadRepository;
+    
+    // Ocupa plazas con un UPDATE condicional; si no alcanzan lanza excepción y la transacción se revierte
+    public void reservar(ServicioTuristico servicio, LocalDate fecha, int cantidad) {
+        int actualizadas = capacidadRepository.reservar(servicio.getId(), fecha, cantidad, servicio.getCapacidadMaxima());
+        if (actualizadas == 0 && inicializar(servicio.getId(), fecha)) {
+            actualizadas = capacidadRepository.reservar(servicio.getId(), fecha, cantidad, servicio.getCapacidadMaxima());
+        }
+        
+        if (actualizadas == 0) {
+            throw new RuntimeException("No hay suficiente capacidad para el servicio " +
+                    servicio.getNombre() + " en la fecha seleccionada");
+        }
+    }
+    
+    public void liberar(Long servicioId, LocalDate fecha, int cantidad) {
+        int actualizadas = capacidadRepository.liberar(servicioId, fecha, cantidad);
+        if (actualizadas == 0 && inicializar(servicioId, fecha)) {
+            capacidadRepository.liberar(servicioId, fecha, cantidad);
+        }
+    }
+    
+    // La fila se siembra (INSERT ... SELECT SUM) solo la primera vez que se usa una fecha; devuelve true si
+    // no existía y vale la pena reintentar el UPDATE
+    private boolean inicializar(Long servicioId, LocalDate fecha) {
+        if (capacidadRepository.existsByServicioIdAndFecha(servicioId, fecha)) {
+            return false;
+        }
+        capacidadRepository.inicializar(servicioId, fecha);
+        return true;
+    }
+}
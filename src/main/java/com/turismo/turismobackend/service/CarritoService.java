@@ -1,6 +1,7 @@
 package com.turismo.turismobackend.service;
 
 import com.turismo.turismobackend.dto.request.CarritoItemRequest;
+import com.turismo.turismobackend.dto.request.ConsultaDisponibilidadRequest;
 import com.turismo.turismobackend.dto.response.*;
 import com.turismo.turismobackend.exception.ResourceNotFoundException;
 import com.turismo.turismobackend.model.*;
@@ -13,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -24,6 +26,9 @@ public class CarritoService {
     private final CarritoRepository carritoRepository;
     private final CarritoItemRepository carritoItemRepository;
     private final ServicioTuristicoRepository servicioRepository;
+    private final RetencionCarritoService retencionService;
+    private final RetencionCarritoRepository retencionRepository;
+    private final DisponibilidadService disponibilidadService;
     
     public CarritoResponse obtenerCarrito() {
         Usuario usuario = getCurrentUser();
@@ -57,6 +62,7 @@ public class CarritoService {
             item.setCantidad(item.getCantidad() + request.getCantidad());
             item.setNotasEspeciales(request.getNotasEspeciales());
             carritoItemRepository.save(item);
+            retencionService.retener(item);
         } else {
             // Crear nuevo item
             CarritoItem nuevoItem = CarritoItem.builder()
@@ -68,6 +74,8 @@ public class CarritoService {
                     .notasEspeciales(request.getNotasEspeciales())
                     .build();
             carritoItemRepository.save(nuevoItem);
+            // Las plazas quedan apartadas desde ahora; si no alcanzan el item no se agrega
+            retencionService.retener(nuevoItem);
         }
         
         return convertToCarritoResponse(carrito);
@@ -85,10 +93,12 @@ public class CarritoService {
         }
         
         if (nuevaCantidad <= 0) {
+            retencionService.soltar(item.getId());
             carritoItemRepository.delete(item);
         } else {
             item.setCantidad(nuevaCantidad);
             carritoItemRepository.save(item);
+            retencionService.retener(item);
         }
         
         return convertToCarritoResponse(item.getCarrito());
@@ -106,6 +116,7 @@ public class CarritoService {
         }
         
         Carrito carrito = item.getCarrito();
+        retencionService.soltar(item.getId());
         carritoItemRepository.delete(item);
         
         return convertToCarritoResponse(carrito);
@@ -116,10 +127,48 @@ public class CarritoService {
         
         Optional<Carrito> carritoOpt = carritoRepository.findByUsuario(usuario);
         if (carritoOpt.isPresent()) {
+            for (CarritoItem item : carritoOpt.get().getItems()) {
+                retencionService.soltar(item.getId());
+            }
             carritoItemRepository.deleteByCarritoId(carritoOpt.get().getId());
         }
     }
     
+    // Disponibilidad de todos los items del carrito en una sola verificación por lote
+    @Transactional(readOnly = true)
+    public List<DisponibilidadItemResponse> verificarDisponibilidad() {
+        Usuario usuario = getCurrentUser();
+        Optional<Carrito> carritoOpt = carritoRepository.findByUsuarioIdWithItems(usuario.getId());
+        if (carritoOpt.isEmpty() || carritoOpt.get().isEmpty()) {
+            return List.of();
+        }
+        List<CarritoItem> items = carritoOpt.get().getItems();
+        
+        List<ConsultaDisponibilidadRequest> consultas = items.stream()
+                .map(item -> ConsultaDisponibilidadRequest.builder()
+                        .servicioId(item.getServicio().getId())
+                        .fecha(item.getFechaServicio())
+                        .cantidad(item.getCantidad())
+                        .build())
+                .collect(Collectors.toList());
+        List<DisponibilidadItemResponse> respuestas = disponibilidadService.verificarLote(consultas);
+        
+        // Las plazas que el propio carrito tiene retenidas ya figuran como ocupadas: se le devuelven
+        Map<Long, Integer> retenidas = retencionRepository.findByCarritoItemIdIn(
+                        items.stream().map(CarritoItem::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(RetencionCarrito::getCarritoItemId, RetencionCarrito::getCantidad));
+        for (int i = 0; i < items.size(); i++) {
+            DisponibilidadItemResponse respuesta = respuestas.get(i);
+            CarritoItem item = items.get(i);
+            respuesta.setCarritoItemId(item.getId());
+            if (retenidas.containsKey(item.getId()) && item.getServicio().getEstado() == ServicioTuristico.EstadoServicio.ACTIVO) {
+                respuesta.setPlazasDisponibles(respuesta.getPlazasDisponibles() + retenidas.get(item.getId()));
+                respuesta.setDisponible(respuesta.getPlazasDisponibles() >= item.getCantidad());
+            }
+        }
+        return respuestas;
+    }
+    
     public Long contarItems() {
         Usuario usuario = getCurrentUser();
         return carritoItemRepository.countByUsuarioId(usuario.getId());
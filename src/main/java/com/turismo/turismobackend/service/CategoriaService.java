@@ -1,11 +1,14 @@
 package com.turismo.turismobackend.service;
 
+import com.turismo.turismobackend.config.CacheConfig;
 import com.turismo.turismobackend.dto.request.CategoriaRequest;
 import com.turismo.turismobackend.dto.response.CategoriaResponse;
 import com.turismo.turismobackend.exception.ResourceNotFoundException;
 import com.turismo.turismobackend.model.Categoria;
 import com.turismo.turismobackend.repository.CategoriaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,8 +19,12 @@ import java.util.stream.Collectors;
 public class CategoriaService {
     
     private final CategoriaRepository categoriaRepository;
+    private final VersionCatalogoService versionCatalogoService;
     
-    public List<CategoriaResponse> getAllCategorias() {
+    // La clave es la versión del listado: cuando cambia, cada nodo vuelve a leer de la base de datos aunque
+    // su caché no haya recibido la invalidación
+    @Cacheable(value = CacheConfig.CATALOGO_CATEGORIAS, key = "#p0")
+    public List<CategoriaResponse> getAllCategorias(long version) {
         return categoriaRepository.findAll().stream()
                 .map(this::mapToCategoriaResponse)
                 .collect(Collectors.toList());
@@ -30,6 +37,7 @@ public class CategoriaService {
         return mapToCategoriaResponse(categoria);
     }
     
+    @CacheEvict(value = CacheConfig.CATALOGO_CATEGORIAS, allEntries = true)
     public CategoriaResponse createCategoria(CategoriaRequest request) {
         // Verificar si ya existe una categoría con el mismo nombre
         if (categoriaRepository.existsByNombre(request.getNombre())) {
@@ -44,9 +52,12 @@ public class CategoriaService {
         
         categoriaRepository.save(categoria);
         
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.CATEGORIAS);
+        
         return mapToCategoriaResponse(categoria);
     }
     
+    @CacheEvict(value = CacheConfig.CATALOGO_CATEGORIAS, allEntries = true)
     public CategoriaResponse updateCategoria(Long id, CategoriaRequest request) {
         // Buscar la categoría
         Categoria categoria = categoriaRepository.findById(id)
@@ -64,9 +75,12 @@ public class CategoriaService {
         
         categoriaRepository.save(categoria);
         
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.CATEGORIAS);
+        
         return mapToCategoriaResponse(categoria);
     }
     
+    @CacheEvict(value = CacheConfig.CATALOGO_CATEGORIAS, allEntries = true)
     public void deleteCategoria(Long id) {
         // Buscar la categoría
         Categoria categoria = categoriaRepository.findById(id)
@@ -78,6 +92,8 @@ public class CategoriaService {
         }
         
         categoriaRepository.delete(categoria);
+        
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.CATEGORIAS);
     }
     
     private CategoriaResponse mapToCategoriaResponse(Categoria categoria) {
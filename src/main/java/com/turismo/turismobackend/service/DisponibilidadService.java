@@ -0,0 +1,153 @@
+package com.turismo.turismobackend.service;
+
+import com.turismo.turismobackend.dto.request.ConsultaDisponibilidadRequest;
+import com.turismo.turismobackend.dto.response.DisponibilidadItemResponse;
+import com.turismo.turismobackend.dto.response.DisponibilidadMensualResponse;
+import com.turismo.turismobackend.exception.ResourceNotFoundException;
+import com.turismo.turismobackend.model.CapacidadServicio;
+import com.turismo.turismobackend.model.InventarioPlan;
+import com.turismo.turismobackend.model.PlanTuristico;
+import com.turismo.turismobackend.model.ServicioTuristico;
+import com.turismo.turismobackend.repository.CapacidadServicioRepository;
+import com.turismo.turismobackend.repository.InventarioPlanRepository;
+import com.turismo.turismobackend.repository.PlanTuristicoRepository;
+import com.turismo.turismobackend.repository.ReservaCarritoItemRepository;
+import com.turismo.turismobackend.repository.ReservaRepository;
+import com.turismo.turismobackend.repository.ServicioTuristicoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DisponibilidadService {
+    
+    private final ServicioTuristicoRepository servicioRepository;
+    private final PlanTuristicoRepository planRepository;
+    private final ReservaCarritoItemRepository reservaCarritoItemRepository;
+    private final ReservaRepository reservaRepository;
+    private final CapacidadServicioRepository capacidadRepository;
+    private final InventarioPlanRepository inventarioRepository;
+    
+    public DisponibilidadMensualResponse getCalendarioServicio(Long servicioId, YearMonth mes) {
+        ServicioTuristico servicio = servicioRepository.findById(servicioId)
+                .orElseThrow(() -> new ResourceNotFoundException("Servicio", "id", servicioId));
+        
+        LocalDate desde = mes.atDay(1);
+        LocalDate hasta = mes.atEndOfMonth();
+        
+        // Dos consultas por mes: la suma agrupada de reservas y las filas ya existentes del registro
+        // de capacidad, que son las que se usan para reservar y prevalecen sobre la suma
+        int[] reservadas = new int[mes.lengthOfMonth()];
+        acumular(reservadas, reservaCarritoItemRepository.sumPersonasPorFecha(servicioId, desde, hasta));
+        for (CapacidadServicio fila : capacidadRepository.findByServicioIdAndFechaBetween(servicioId, desde, hasta)) {
+            reservadas[fila.getFecha().getDayOfMonth() - 1] = fila.getPersonasReservadas();
+        }
+        
+        return construirCalendario(servicioId, mes, servicio.getCapacidadMaxima(), reservadas);
+    }
+    
+    public DisponibilidadMensualResponse getCalendarioPlan(Long planId, YearMonth mes) {
+        PlanTuristico plan = planRepository.findById(planId)
+                .orElseThrow(() -> new ResourceNotFoundException("Plan", "id", planId));
+        
+        LocalDate desde = mes.atDay(1);
+        LocalDate hasta = mes.atEndOfMonth();
+        
+        int[] reservadas = new int[mes.lengthOfMonth()];
+        acumular(reservadas, reservaRepository.sumPersonasPorFecha(planId, desde, hasta));
+        for (InventarioPlan fila : inventarioRepository.findByPlanIdAndFechaBetween(planId, desde, hasta)) {
+            reservadas[fila.getFecha().getDayOfMonth() - 1] = fila.getPersonasReservadas();
+        }
+        
+        return construirCalendario(planId, mes, plan.getCapacidadMaxima(), reservadas);
+    }
+    
+    // Responde todas las consultas con tres lecturas: los servicios, las filas del registro de capacidad
+    // y la suma agrupada de reservas para las combinaciones que aún no tienen fila
+    public List<DisponibilidadItemResponse> verificarLote(List<ConsultaDisponibilidadRequest> consultas) {
+        Set<Long> servicioIds = new HashSet<>();
+        Set<LocalDate> fechas = new HashSet<>();
+        for (ConsultaDisponibilidadRequest consulta : consultas) {
+            servicioIds.add(consulta.getServicioId());
+            fechas.add(consulta.getFecha());
+        }
+        
+        Map<Long, ServicioTuristico> servicios = servicioRepository.findAllById(servicioIds).stream()
+                .collect(Collectors.toMap(ServicioTuristico::getId, Function.identity()));
+        
+        Map<String, Integer> reservadas = new HashMap<>();
+        for (Object[] fila : reservaCarritoItemRepository.sumPersonasPorServicioYFecha(servicioIds, fechas)) {
+            reservadas.put(clave((Long) fila[0], (LocalDate) fila[1]), ((Number) fila[2]).intValue());
+        }
+        for (CapacidadServicio fila : capacidadRepository.findByServicioIdInAndFechaIn(servicioIds, fechas)) {
+            reservadas.put(clave(fila.getServicioId(), fila.getFecha()), fila.getPersonasReservadas());
+        }
+        
+        List<DisponibilidadItemResponse> respuestas = new ArrayList<>(consultas.size());
+        for (ConsultaDisponibilidadRequest consulta : consultas) {
+            ServicioTuristico servicio = servicios.get(consulta.getServicioId());
+            int plazas = 0;
+            if (servicio != null && servicio.getEstado() == ServicioTuristico.EstadoServicio.ACTIVO
+                    && !consulta.getFecha().isBefore(LocalDate.now())) {
+                int ocupadas = reservadas.getOrDefault(clave(consulta.getServicioId(), consulta.getFecha()), 0);
+                plazas = Math.max(0, servicio.getCapacidadMaxima() - ocupadas);
+            }
+            respuestas.add(DisponibilidadItemResponse.builder()
+                    .servicioId(consulta.getServicioId())
+                    .fecha(consulta.getFecha())
+                    .cantidad(consulta.getCantidad())
+                    .plazasDisponibles(plazas)
+                    .disponible(plazas >= consulta.getCantidad())
+                    .build());
+        }
+        return respuestas;
+    }
+    
+    private static String clave(Long servicioId, LocalDate fecha) {
+        return servicioId + ":" + fecha;
+    }
+    
+    private void acumular(int[] reservadas, List<Object[]> filas) {
+        for (Object[] fila : filas) {
+            LocalDate fecha = (LocalDate) fila[0];
+            reservadas[fecha.getDayOfMonth() - 1] = ((Number) fila[1]).intValue();
+        }
+    }
+    
+    private DisponibilidadMensualResponse construirCalendario(Long id, YearMonth mes, Integer capacidadMaxima, int[] reservadas) {
+        int capacidad = capacidadMaxima != null ? capacidadMaxima : 0;
+        LocalDate hoy = LocalDate.now();
+        
+        int[] disponibles = new int[reservadas.length];
+        long agotados = 0L;
+        for (int i = 0; i < reservadas.length; i++) {
+            // Los días pasados no se pueden reservar: se informan sin plazas
+            boolean pasado = mes.atDay(i + 1).isBefore(hoy);
+            disponibles[i] = pasado ? 0 : Math.max(0, capacidad - reservadas[i]);
+            if (disponibles[i] == 0) {
+                agotados |= 1L << i;
+            }
+        }
+        
+        return DisponibilidadMensualResponse.builder()
+                .id(id)
+                .mes(mes.toString())
+                .capacidadMaxima(capacidad)
+                .plazasDisponibles(disponibles)
+                .diasAgotados(agotados)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.turismo.turismobackend.service;
 
+import com.turismo.turismobackend.config.CacheConfig;
 import com.turismo.turismobackend.dto.request.EmprendedorRequest;
 import com.turismo.turismobackend.dto.response.EmprendedorResponse;
 import com.turismo.turismobackend.exception.ResourceNotFoundException;
@@ -10,7 +11,9 @@ import com.turismo.turismobackend.model.Usuario;
 import com.turismo.turismobackend.repository.CategoriaRepository;
 import com.turismo.turismobackend.repository.EmprendedorRepository;
 import com.turismo.turismobackend.repository.MunicipalidadRepository;
+import com.turismo.turismobackend.util.GeoUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -24,6 +27,8 @@ public class EmprendedorService {
     private final EmprendedorRepository emprendedorRepository;
     private final MunicipalidadRepository municipalidadRepository;
     private final CategoriaRepository categoriaRepository;
+    private final IndicesCatalogoService indicesCatalogoService;
+    private final VersionCatalogoService versionCatalogoService;
     
     public List<EmprendedorResponse> getAllEmprendedores() {
         return emprendedorRepository.findAll().stream()
@@ -62,6 +67,7 @@ public class EmprendedorService {
                 .collect(Collectors.toList());
     }
     
+    @CacheEvict(value = {CacheConfig.CATALOGO_MUNICIPALIDADES, CacheConfig.CATALOGO_CATEGORIAS}, allEntries = true)
     public EmprendedorResponse createEmprendedor(EmprendedorRequest request) {
         // Obtener el usuario autenticado
         Usuario usuario = (Usuario) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -102,10 +108,14 @@ public class EmprendedorService {
                 .build();
         
         emprendedorRepository.save(emprendedor);
+        indicesCatalogoService.emprendedorGuardado(emprendedor);
+        
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.CATEGORIAS);
         
         return mapToEmprendedorResponse(emprendedor);
     }
     
+    @CacheEvict(value = {CacheConfig.CATALOGO_MUNICIPALIDADES, CacheConfig.CATALOGO_CATEGORIAS, CacheConfig.CATALOGO_SERVICIOS}, allEntries = true)
     public EmprendedorResponse updateEmprendedor(Long id, EmprendedorRequest request) {
         // Buscar el emprendedor
         Emprendedor emprendedor = emprendedorRepository.findById(id)
@@ -153,10 +163,14 @@ public class EmprendedorService {
         emprendedor.setCategoria(categoria);
         
         emprendedorRepository.save(emprendedor);
+        indicesCatalogoService.emprendedorGuardado(emprendedor);
+        
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.CATEGORIAS, VersionCatalogoService.Agregado.SERVICIOS);
         
         return mapToEmprendedorResponse(emprendedor);
     }
 
+    @CacheEvict(value = {CacheConfig.CATALOGO_MUNICIPALIDADES, CacheConfig.CATALOGO_CATEGORIAS, CacheConfig.CATALOGO_SERVICIOS}, allEntries = true)
     public void deleteEmprendedor(Long id) {
         // Buscar el emprendedor
         Emprendedor emprendedor = emprendedorRepository.findById(id)
@@ -171,7 +185,11 @@ public class EmprendedorService {
             throw new RuntimeException("No tienes permiso para eliminar este emprendedor");
         }
         
+        // Los servicios se eliminan en cascada junto con el emprendedor
+        indicesCatalogoService.emprendedorEliminado(emprendedor);
         emprendedorRepository.delete(emprendedor);
+        
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.CATEGORIAS, VersionCatalogoService.Agregado.SERVICIOS);
     }
     
     public EmprendedorResponse getEmprendedorByUsuario() {
@@ -225,23 +243,11 @@ public class EmprendedorService {
 
     // NUEVOS MÉTODOS para ubicación
     public List<EmprendedorResponse> getEmprendedoresCercanos(Double latitud, Double longitud, Double radioKm) {
-        return emprendedorRepository.findAll().stream()
-                .filter(Emprendedor::tieneUbicacionValida)
-                .filter(emp -> calcularDistancia(latitud, longitud, emp.getLatitud(), emp.getLongitud()) <= radioKm)
+        // La caja envolvente se filtra en la BD (usa idx_emprendedores_lat_lng); Haversine solo sobre los candidatos
+        double[] caja = GeoUtils.calcularCajaEnvolvente(latitud, longitud, radioKm);
+        return emprendedorRepository.findByCajaEnvolvente(caja[0], caja[1], caja[2], caja[3]).stream()
+                .filter(emp -> GeoUtils.calcularDistancia(latitud, longitud, emp.getLatitud(), emp.getLongitud()) <= radioKm)
                 .map(this::mapToEmprendedorResponse)
                 .collect(Collectors.toList());
     }
-    
-    private double calcularDistancia(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371; // Radio de la Tierra en km
-        
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        
-        return R * c;
-    }
 }
\ No newline at end of file
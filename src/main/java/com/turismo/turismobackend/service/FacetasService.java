@@ -0,0 +1,117 @@
+package com.turismo.turismobackend.service;
+
+import com.turismo.turismobackend.model.Emprendedor;
+import com.turismo.turismobackend.model.PlanTuristico;
+import com.turismo.turismobackend.model.ServicioTuristico;
+import com.turismo.turismobackend.repository.PlanTuristicoRepository;
+import com.turismo.turismobackend.repository.ServicioTuristicoRepository;
+import com.turismo.turismobackend.util.IndiceFacetas;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class FacetasService {
+    
+    public static final String FACETA_TIPO = "tipo";
+    public static final String FACETA_ESTADO = "estado";
+    public static final String FACETA_MUNICIPALIDAD = "municipalidad";
+    public static final String FACETA_CATEGORIA = "categoria";
+    public static final String FACETA_NIVEL_DIFICULTAD = "nivelDificultad";
+    
+    private final PlanTuristicoRepository planRepository;
+    private final ServicioTuristicoRepository servicioRepository;
+    
+    private final IndiceFacetas facetasServicios = new IndiceFacetas();
+    private final IndiceFacetas facetasPlanes = new IndiceFacetas();
+    
+    @PostConstruct
+    public void cargarIndices() {
+        for (Object[] fila : servicioRepository.findFacetas()) {
+            facetasServicios.actualizar((Long) fila[0],
+                    facetasServicio(fila[1], fila[2], (Long) fila[3], (Long) fila[4]),
+                    precio((BigDecimal) fila[5]));
+        }
+        for (Object[] fila : planRepository.findFacetas()) {
+            facetasPlanes.actualizar((Long) fila[0],
+                    facetasPlan(fila[1], fila[2], (Long) fila[3]),
+                    precio((BigDecimal) fila[4]));
+        }
+    }
+    
+    public void indexarServicio(ServicioTuristico servicio) {
+        Emprendedor emprendedor = servicio.getEmprendedor();
+        Long municipalidadId = emprendedor != null && emprendedor.getMunicipalidad() != null
+                ? emprendedor.getMunicipalidad().getId() : null;
+        Long categoriaId = emprendedor != null && emprendedor.getCategoria() != null
+                ? emprendedor.getCategoria().getId() : null;
+        facetasServicios.actualizar(servicio.getId(),
+                facetasServicio(servicio.getTipo(), servicio.getEstado(), municipalidadId, categoriaId),
+                precio(servicio.getPrecio()));
+    }
+    
+    public void eliminarServicio(Long servicioId) {
+        facetasServicios.eliminar(servicioId);
+    }
+    
+    public void indexarPlan(PlanTuristico plan) {
+        Long municipalidadId = plan.getMunicipalidad() != null ? plan.getMunicipalidad().getId() : null;
+        facetasPlanes.actualizar(plan.getId(),
+                facetasPlan(plan.getNivelDificultad(), plan.getEstado(), municipalidadId),
+                precio(plan.getPrecioTotal()));
+    }
+    
+    public void eliminarPlan(Long planId) {
+        facetasPlanes.eliminar(planId);
+    }
+    
+    public IndiceFacetas.Resultado buscarServicios(ServicioTuristico.TipoServicio tipo, ServicioTuristico.EstadoServicio estado,
+                                                  Long municipalidadId, Long categoriaId,
+                                                  BigDecimal precioMin, BigDecimal precioMax) {
+        Map<String, String> filtros = facetasServicio(tipo, estado, municipalidadId, categoriaId);
+        return facetasServicios.buscar(filtros, precioOpcional(precioMin), precioOpcional(precioMax));
+    }
+    
+    public IndiceFacetas.Resultado buscarPlanes(PlanTuristico.NivelDificultad nivelDificultad, PlanTuristico.EstadoPlan estado,
+                                               Long municipalidadId, BigDecimal precioMin, BigDecimal precioMax) {
+        Map<String, String> filtros = facetasPlan(nivelDificultad, estado, municipalidadId);
+        return facetasPlanes.buscar(filtros, precioOpcional(precioMin), precioOpcional(precioMax));
+    }
+    
+    // Los valores nulos no se agregan: al indexar el documento queda sin esa faceta y al buscar no se filtra por ella
+    private Map<String, String> facetasServicio(Object tipo, Object estado, Long municipalidadId, Long categoriaId) {
+        Map<String, String> facetas = new HashMap<>();
+        agregar(facetas, FACETA_TIPO, tipo);
+        agregar(facetas, FACETA_ESTADO, estado);
+        agregar(facetas, FACETA_MUNICIPALIDAD, municipalidadId);
+        agregar(facetas, FACETA_CATEGORIA, categoriaId);
+        return facetas;
+    }
+    
+    private Map<String, String> facetasPlan(Object nivelDificultad, Object estado, Long municipalidadId) {
+        Map<String, String> facetas = new HashMap<>();
+        agregar(facetas, FACETA_NIVEL_DIFICULTAD, nivelDificultad);
+        agregar(facetas, FACETA_ESTADO, estado);
+        agregar(facetas, FACETA_MUNICIPALIDAD, municipalidadId);
+        return facetas;
+    }
+    
+    private void agregar(Map<String, String> facetas, String faceta, Object valor) {
+        if (valor != null) {
+            facetas.put(faceta, valor instanceof Enum<?> ? ((Enum<?>) valor).name() : valor.toString());
+        }
+    }
+    
+    private double precio(BigDecimal precio) {
+        return precio != null ? precio.doubleValue() : 0.0;
+    }
+    
+    private Double precioOpcional(BigDecimal precio) {
+        return precio != null ? precio.doubleValue() : null;
+    }
+}
@@ -0,0 +1,94 @@
+package com.turismo.turismobackend.service;
+
+import com.turismo.turismobackend.model.Emprendedor;
+import com.turismo.turismobackend.model.ServicioTuristico;
+import com.turismo.turismobackend.repository.EmprendedorRepository;
+import com.turismo.turismobackend.repository.ServicioTuristicoRepository;
+import com.turismo.turismobackend.util.IndiceEspacial;
+import com.turismo.turismobackend.util.RejillaClusters;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class IndiceUbicacionService {
+    
+    // Celdas de 0.05 grados (aprox. 5.5 km de lado en el ecuador)
+    private static final double TAMANO_CELDA = 0.05;
+    
+    private final EmprendedorRepository emprendedorRepository;
+    private final ServicioTuristicoRepository servicioRepository;
+    
+    private final IndiceEspacial indiceEmprendedores = new IndiceEspacial(TAMANO_CELDA);
+    private final IndiceEspacial indiceServicios = new IndiceEspacial(TAMANO_CELDA);
+    
+    // Agregados por tesela y nivel de zoom para los clusters del mapa
+    private final RejillaClusters clustersEmprendedores = new RejillaClusters();
+    private final RejillaClusters clustersServicios = new RejillaClusters();
+    
+    @PostConstruct
+    public void cargarIndices() {
+        for (Object[] fila : emprendedorRepository.findCoordenadas()) {
+            indiceEmprendedores.actualizar((Long) fila[0], (Double) fila[1], (Double) fila[2]);
+            clustersEmprendedores.actualizar((Long) fila[0], (Double) fila[1], (Double) fila[2], null);
+        }
+        for (Object[] fila : servicioRepository.findCoordenadas()) {
+            indiceServicios.actualizar((Long) fila[0], (Double) fila[1], (Double) fila[2]);
+            clustersServicios.actualizar((Long) fila[0], (Double) fila[1], (Double) fila[2], nombreTipo(fila[3]));
+        }
+    }
+    
+    public void actualizarEmprendedor(Emprendedor emprendedor) {
+        indiceEmprendedores.actualizar(emprendedor.getId(), emprendedor.getLatitud(), emprendedor.getLongitud());
+        clustersEmprendedores.actualizar(emprendedor.getId(), emprendedor.getLatitud(), emprendedor.getLongitud(), null);
+    }
+    
+    public void eliminarEmprendedor(Long emprendedorId) {
+        indiceEmprendedores.eliminar(emprendedorId);
+        clustersEmprendedores.eliminar(emprendedorId);
+    }
+    
+    public void actualizarServicio(ServicioTuristico servicio) {
+        indiceServicios.actualizar(servicio.getId(), servicio.getLatitud(), servicio.getLongitud());
+        clustersServicios.actualizar(servicio.getId(), servicio.getLatitud(), servicio.getLongitud(),
+                nombreTipo(servicio.getTipo()));
+    }
+    
+    public void eliminarServicio(Long servicioId) {
+        indiceServicios.eliminar(servicioId);
+        clustersServicios.eliminar(servicioId);
+    }
+    
+    public List<Long> buscarEmprendedoresEnRadio(double latitud, double longitud, double radioKm) {
+        return indiceEmprendedores.buscarEnRadio(latitud, longitud, radioKm);
+    }
+    
+    public List<Long> buscarServiciosEnRadio(double latitud, double longitud, double radioKm) {
+        return indiceServicios.buscarEnRadio(latitud, longitud, radioKm);
+    }
+    
+    public List<IndiceEspacial.Vecino> buscarEmprendedoresMasCercanos(double latitud, double longitud, int k) {
+        return indiceEmprendedores.buscarMasCercanos(latitud, longitud, k);
+    }
+    
+    public List<IndiceEspacial.Vecino> buscarServiciosMasCercanos(double latitud, double longitud, int k) {
+        return indiceServicios.buscarMasCercanos(latitud, longitud, k);
+    }
+    
+    public List<RejillaClusters.Cluster> buscarClustersEmprendedores(int zoom, double latMin, double latMax,
+                                                                    double lngMin, double lngMax) {
+        return clustersEmprendedores.buscarClusters(zoom, latMin, latMax, lngMin, lngMax);
+    }
+    
+    public List<RejillaClusters.Cluster> buscarClustersServicios(int zoom, double latMin, double latMax,
+                                                                double lngMin, double lngMax) {
+        return clustersServicios.buscarClusters(zoom, latMin, latMax, lngMin, lngMax);
+    }
+    
+    private String nombreTipo(Object tipo) {
+        return tipo != null ? ((ServicioTuristico.TipoServicio) tipo).name() : null;
+    }
+}
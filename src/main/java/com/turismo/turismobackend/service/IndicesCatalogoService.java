@@ -0,0 +1,108 @@
+package com.turismo.turismobackend.service;
+
+import com.turismo.turismobackend.model.Emprendedor;
+import com.turismo.turismobackend.model.Municipalidad;
+import com.turismo.turismobackend.model.PlanTuristico;
+import com.turismo.turismobackend.model.ServicioTuristico;
+import com.turismo.turismobackend.util.TrasCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Punto único de mantenimiento de los índices en memoria del catálogo (ubicación, texto, autocompletado
+// y facetas). Los servicios de escritura avisan qué cambió y aquí se decide qué índices tocar; todos los
+// cambios se aplican tras el commit.
+@Service
+@RequiredArgsConstructor
+public class IndicesCatalogoService {
+    
+    private final IndiceUbicacionService indiceUbicacionService;
+    private final BusquedaService busquedaService;
+    private final AutocompletadoService autocompletadoService;
+    private final FacetasService facetasService;
+    
+    public void servicioGuardado(ServicioTuristico servicio) {
+        TrasCommit.ejecutar(() -> {
+            indiceUbicacionService.actualizarServicio(servicio);
+            busquedaService.indexarServicio(servicio);
+            autocompletadoService.actualizarServicio(servicio);
+            facetasService.indexarServicio(servicio);
+        });
+    }
+    
+    public void servicioEliminado(Long servicioId) {
+        TrasCommit.ejecutar(() -> quitarServicio(servicioId));
+    }
+    
+    public void planGuardado(PlanTuristico plan) {
+        TrasCommit.ejecutar(() -> {
+            busquedaService.indexarPlan(plan);
+            autocompletadoService.actualizarPlan(plan);
+            facetasService.indexarPlan(plan);
+        });
+    }
+    
+    public void planEliminado(Long planId) {
+        TrasCommit.ejecutar(() -> {
+            busquedaService.eliminarPlan(planId);
+            autocompletadoService.eliminarPlan(planId);
+            facetasService.eliminarPlan(planId);
+        });
+    }
+    
+    // La municipalidad y la categoría del emprendedor son facetas de sus servicios
+    public void emprendedorGuardado(Emprendedor emprendedor) {
+        TrasCommit.ejecutar(() -> {
+            indiceUbicacionService.actualizarEmprendedor(emprendedor);
+            autocompletadoService.actualizarEmprendedor(emprendedor);
+            emprendedor.getServiciosTuristicos().forEach(facetasService::indexarServicio);
+        });
+    }
+    
+    // Los ids se copian al avisar (antes del delete); el emprendedor y sus servicios se borran en cascada
+    public void emprendedorEliminado(Emprendedor emprendedor) {
+        Long emprendedorId = emprendedor.getId();
+        List<Long> serviciosIds = idsServicios(emprendedor);
+        TrasCommit.ejecutar(() -> quitarEmprendedor(emprendedorId, serviciosIds));
+    }
+    
+    public void municipalidadGuardada(Municipalidad municipalidad) {
+        TrasCommit.ejecutar(() -> autocompletadoService.actualizarMunicipalidad(municipalidad));
+    }
+    
+    // La cascada alcanza a los emprendedores de la municipalidad y a los servicios de cada uno
+    public void municipalidadEliminada(Municipalidad municipalidad) {
+        Long municipalidadId = municipalidad.getId();
+        Map<Long, List<Long>> serviciosPorEmprendedor = new HashMap<>();
+        for (Emprendedor emprendedor : municipalidad.getEmprendedores()) {
+            serviciosPorEmprendedor.put(emprendedor.getId(), idsServicios(emprendedor));
+        }
+        TrasCommit.ejecutar(() -> {
+            autocompletadoService.eliminarMunicipalidad(municipalidadId);
+            serviciosPorEmprendedor.forEach(this::quitarEmprendedor);
+        });
+    }
+    
+    private List<Long> idsServicios(Emprendedor emprendedor) {
+        return emprendedor.getServiciosTuristicos().stream()
+                .map(ServicioTuristico::getId)
+                .collect(Collectors.toList());
+    }
+    
+    private void quitarEmprendedor(Long emprendedorId, List<Long> serviciosIds) {
+        indiceUbicacionService.eliminarEmprendedor(emprendedorId);
+        autocompletadoService.eliminarEmprendedor(emprendedorId);
+        serviciosIds.forEach(this::quitarServicio);
+    }
+    
+    private void quitarServicio(Long servicioId) {
+        indiceUbicacionService.eliminarServicio(servicioId);
+        busquedaService.eliminarServicio(servicioId);
+        autocompletadoService.eliminarServicio(servicioId);
+        facetasService.eliminarServicio(servicioId);
+    }
+}
@@ -0,0 +1,79 @@
+package com.turismo.turismobackend.service;
+
+import com.turismo.turismobackend.model.PlanTuristico;
+import com.turismo.turismobackend.repository.InventarioPlanRepository;
+import com.turismo.turismobackend.util.BloqueosSegmentados;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class InventarioPlanService {
+    
+    private static final int SEGMENTOS = 256;
+    private static final long ESPERA_MAXIMA_MS = 5000;
+    
+    private final InventarioPlanRepository inventarioRepository;
+    
+    // Las reservas de una misma salida esperan en el nodo y no ocupando conexiones bloqueadas en la BD;
+    // las salidas de otros planes o fechas caen (casi siempre) en otro segmento y no esperan
+    private final BloqueosSegmentados bloqueos = new BloqueosSegmentados(SEGMENTOS);
+    
+    // Ocupa plazas de la salida; si no alcanzan lanza excepción y la transacción se revierte
+    public void reservar(PlanTuristico plan, LocalDate fecha, int personas) {
+        bloquearHastaTerminar(plan.getId(), fecha);
+        
+        int actualizadas = inventarioRepository.reservar(plan.getId(), fecha, personas, plan.getCapacidadMaxima());
+        if (actualizadas == 0 && inicializar(plan.getId(), fecha)) {
+            actualizadas = inventarioRepository.reservar(plan.getId(), fecha, personas, plan.getCapacidadMaxima());
+        }
+        if (actualizadas == 0) {
+            throw new RuntimeException("No hay suficiente capacidad disponible para las fechas seleccionadas");
+        }
+    }
+    
+    public void liberar(Long planId, LocalDate fecha, int personas) {
+        bloquearHastaTerminar(planId, fecha);
+        
+        int actualizadas = inventarioRepository.liberar(planId, fecha, personas);
+        if (actualizadas == 0 && inicializar(planId, fecha)) {
+            inventarioRepository.liberar(planId, fecha, personas);
+        }
+    }
+    
+    // La fila se siembra (INSERT ... SELECT SUM) solo la primera vez que se usa una salida; devuelve true si
+    // no existía y vale la pena reintentar el UPDATE
+    private boolean inicializar(Long planId, LocalDate fecha) {
+        if (inventarioRepository.existsByPlanIdAndFecha(planId, fecha)) {
+            return false;
+        }
+        inventarioRepository.inicializar(planId, fecha);
+        return true;
+    }
+    
+    // El lock se mantiene hasta el commit o rollback: soltarlo antes dejaría pasar a otra reserva
+    // que igual quedaría esperando el bloqueo de fila en la base de datos
+    private void bloquearHastaTerminar(Long planId, LocalDate fecha) {
+        ReentrantLock lock = bloqueos.bloquear(planId + ":" + fecha, ESPERA_MAXIMA_MS);
+        if (lock == null) {
+            throw new RuntimeException("La salida está recibiendo muchas reservas, intente nuevamente");
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.unlock();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
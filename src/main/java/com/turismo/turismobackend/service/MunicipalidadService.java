@@ -1,5 +1,6 @@
 package com.turismo.turismobackend.service;
 
+import com.turismo.turismobackend.config.CacheConfig;
 import com.turismo.turismobackend.dto.request.MunicipalidadRequest;
 import com.turismo.turismobackend.dto.response.MunicipalidadResponse;
 import com.turismo.turismobackend.exception.ResourceNotFoundException;
@@ -9,6 +10,8 @@ import com.turismo.turismobackend.model.Usuario;
 import com.turismo.turismobackend.repository.MunicipalidadRepository;
 import com.turismo.turismobackend.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -22,7 +25,10 @@ public class MunicipalidadService {
     
     private final MunicipalidadRepository municipalidadRepository;
     private final UsuarioRepository usuarioRepository;
+    private final IndicesCatalogoService indicesCatalogoService;
+    private final VersionCatalogoService versionCatalogoService;
     
+    @Cacheable(CacheConfig.CATALOGO_MUNICIPALIDADES)
     public List<MunicipalidadResponse> getAllMunicipalidades() {
         return municipalidadRepository.findAll().stream()
                 .map(this::mapToMunicipalidadResponse)
@@ -36,6 +42,7 @@ public class MunicipalidadService {
         return mapToMunicipalidadResponse(municipalidad);
     }
     
+    @CacheEvict(value = CacheConfig.CATALOGO_MUNICIPALIDADES, allEntries = true)
     public MunicipalidadResponse createMunicipalidad(MunicipalidadRequest request) {
         // Obtener el usuario autenticado
         Usuario usuario = (Usuario) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -59,10 +66,12 @@ public class MunicipalidadService {
                 .build();
         
         municipalidadRepository.save(municipalidad);
+        indicesCatalogoService.municipalidadGuardada(municipalidad);
         
         return mapToMunicipalidadResponse(municipalidad);
     }
     
+    @CacheEvict(value = {CacheConfig.CATALOGO_MUNICIPALIDADES, CacheConfig.CATALOGO_PLANES, CacheConfig.CATALOGO_SERVICIOS}, allEntries = true)
     public MunicipalidadResponse updateMunicipalidad(Long id, MunicipalidadRequest request) {
         // Buscar la municipalidad
         Municipalidad municipalidad = municipalidadRepository.findById(id)
@@ -87,10 +96,14 @@ public class MunicipalidadService {
         municipalidad.setDescripcion(request.getDescripcion());
         
         municipalidadRepository.save(municipalidad);
+        indicesCatalogoService.municipalidadGuardada(municipalidad);
+        
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.PLANES, VersionCatalogoService.Agregado.SERVICIOS);
         
         return mapToMunicipalidadResponse(municipalidad);
     }
     
+    @CacheEvict(value = {CacheConfig.CATALOGO_MUNICIPALIDADES, CacheConfig.CATALOGO_PLANES, CacheConfig.CATALOGO_SERVICIOS}, allEntries = true)
     public void deleteMunicipalidad(Long id) {
         // Buscar la municipalidad
         Municipalidad municipalidad = municipalidadRepository.findById(id)
@@ -105,7 +118,11 @@ public class MunicipalidadService {
             throw new RuntimeException("No tienes permiso para eliminar esta municipalidad");
         }
         
+        // Los emprendedores (y sus servicios) se eliminan en cascada junto con la municipalidad
+        indicesCatalogoService.municipalidadEliminada(municipalidad);
         municipalidadRepository.delete(municipalidad);
+        
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.PLANES, VersionCatalogoService.Agregado.SERVICIOS);
     }
     
     public List<MunicipalidadResponse> getMunicipalidadesByDepartamento(String departamento) {
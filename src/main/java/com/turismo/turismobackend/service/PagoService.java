@@ -8,14 +8,23 @@ import com.turismo.turismobackend.model.Reserva;
 import com.turismo.turismobackend.model.Usuario;
 import com.turismo.turismobackend.repository.PagoRepository;
 import com.turismo.turismobackend.repository.ReservaRepository;
+import com.turismo.turismobackend.util.ExportadorFilas;
+import com.turismo.turismobackend.util.Paginacion;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,12 +34,15 @@ public class PagoService {
     private final PagoRepository pagoRepository;
     private final ReservaRepository reservaRepository;
     
-    public List<PagoResponse> getAllPagos() {
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public List<PagoResponse> getAllPagos(Long after, int limite) {
         // Solo admin puede ver todos los pagos
         if (!hasRole("ROLE_ADMIN")) {
             throw new RuntimeException("No tiene permisos para ver todos los pagos");
         }
-        return pagoRepository.findAll().stream()
+        return pagoRepository.findSiguientes(after, Paginacion.primeros(limite)).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
@@ -89,18 +101,41 @@ public class PagoService {
                 .collect(Collectors.toList());
     }
     
-    public List<PagoResponse> getPagosByMunicipalidad(Long municipalidadId) {
+    public List<PagoResponse> getPagosByMunicipalidad(Long municipalidadId, Long after, int limite) {
         // Verificar que el usuario pertenece a la municipalidad o es admin
         Usuario usuario = getCurrentUser();
         if (!hasRole("ROLE_ADMIN") && !perteneceAMunicipalidad(usuario, municipalidadId)) {
             throw new RuntimeException("No tiene permisos para ver los pagos de esta municipalidad");
         }
         
-        return pagoRepository.findByMunicipalidadId(municipalidadId).stream()
+        return pagoRepository.findSiguientesByMunicipalidadId(municipalidadId, after, Paginacion.primeros(limite)).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
     
+    // Se llama en el hilo de la petición, antes de empezar a escribir la exportación
+    public void verificarPermisoExportacion(Long municipalidadId) {
+        Usuario usuario = getCurrentUser();
+        if (!hasRole("ROLE_ADMIN") && !perteneceAMunicipalidad(usuario, municipalidadId)) {
+            throw new RuntimeException("No tiene permisos para ver los pagos de esta municipalidad");
+        }
+    }
+    
+    // Mismo recorrido con cursor que la exportación de reservas; cada pago se desprende junto con su reserva
+    @Transactional(readOnly = true)
+    public void exportarPagosPorMunicipalidad(Long municipalidadId, ExportadorFilas exportador) throws IOException {
+        try (Stream<Pago> pagos = pagoRepository.streamByMunicipalidadId(municipalidadId)) {
+            Iterator<Pago> iterador = pagos.iterator();
+            while (iterador.hasNext()) {
+                Pago pago = iterador.next();
+                exportador.escribir(convertToFilaExportacion(pago));
+                entityManager.detach(pago);
+                entityManager.detach(pago.getReserva());
+            }
+        }
+        exportador.terminar();
+    }
+    
     public PagoResponse registrarPago(PagoRequest request) {
         Reserva reserva = reservaRepository.findById(request.getReservaId())
                 .orElseThrow(() -> new ResourceNotFoundException("Reserva no encontrada con ID: " + request.getReservaId()));
@@ -223,6 +258,23 @@ public class PagoService {
         return (Usuario) principal;
     }
     
+    private Map<String, Object> convertToFilaExportacion(Pago pago) {
+        Map<String, Object> fila = new LinkedHashMap<>();
+        fila.put("id", pago.getId());
+        fila.put("codigoPago", pago.getCodigoPago());
+        fila.put("reservaId", pago.getReserva().getId());
+        fila.put("codigoReserva", pago.getReserva().getCodigoReserva());
+        fila.put("monto", pago.getMonto());
+        fila.put("tipo", pago.getTipo());
+        fila.put("estado", pago.getEstado());
+        fila.put("metodoPago", pago.getMetodoPago());
+        fila.put("numeroTransaccion", pago.getNumeroTransaccion());
+        fila.put("numeroAutorizacion", pago.getNumeroAutorizacion());
+        fila.put("fechaPago", pago.getFechaPago());
+        fila.put("fechaConfirmacion", pago.getFechaConfirmacion());
+        return fila;
+    }
+    
     private boolean hasRole(String role) {
         return getCurrentUser().getAuthorities().stream()
                 .anyMatch(authority -> authority.getAuthority().equals(role));
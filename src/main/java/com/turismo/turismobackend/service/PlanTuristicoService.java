@@ -1,18 +1,31 @@
 package com.turismo.turismobackend.service;
 
+import com.turismo.turismobackend.config.CacheConfig;
 import com.turismo.turismobackend.dto.request.PlanTuristicoRequest;
 import com.turismo.turismobackend.dto.request.ServicioPlanRequest;
 import com.turismo.turismobackend.dto.response.*;
 import com.turismo.turismobackend.exception.ResourceNotFoundException;
 import com.turismo.turismobackend.model.*;
 import com.turismo.turismobackend.repository.*;
+import com.turismo.turismobackend.repository.projection.PlanListadoProjection;
+import com.turismo.turismobackend.repository.projection.ServicioPlanListadoProjection;
+import com.turismo.turismobackend.util.IndiceFacetas;
+import com.turismo.turismobackend.util.OptimizadorRuta;
+import com.turismo.turismobackend.util.Paginacion;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,70 +36,114 @@ public class PlanTuristicoService {
     private final PlanTuristicoRepository planRepository;
     private final ServicioTuristicoRepository servicioRepository;
     private final ServicioPlanRepository servicioPlanRepository;
+    private final ReservaRepository reservaRepository;
     private final MunicipalidadRepository municipalidadRepository;
+    private final BusquedaService busquedaService;
+    private final FacetasService facetasService;
+    private final IndicesCatalogoService indicesCatalogoService;
+    private final PopularidadPlanesService popularidadPlanesService;
+    private final VersionCatalogoService versionCatalogoService;
     
-    public List<PlanTuristicoResponse> getAllPlanes() {
-        return planRepository.findAll().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    // Solo se guarda en caché la primera página de tamaño máximo, la que reciben los clientes sin parámetros de
+    // paginación. La clave es la versión del listado: cuando cambia, cada nodo vuelve a leer de la base de datos
+    // aunque su caché no haya recibido la invalidación
+    @Cacheable(value = CacheConfig.CATALOGO_PLANES, key = "#p0")
+    public List<PlanTuristicoResponse> getPrimeraPaginaPlanes(long version) {
+        return getAllPlanes(0L, Paginacion.LIMITE_MAXIMO);
+    }
+    
+    // Las demás páginas no pasan por la caché: se leen con la consulta por cursor
+    public List<PlanTuristicoResponse> getAllPlanes(Long after, int limite) {
+        return convertListadoToResponses(planRepository.findListadoSiguientes(after, Paginacion.primeros(limite)));
     }
     
     public PlanTuristicoResponse getPlanById(Long id) {
-        PlanTuristico plan = planRepository.findById(id)
+        PlanTuristico plan = planRepository.findConDetallesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Plan turístico", "id", id));
         return convertToResponse(plan);
     }
     
     public List<PlanTuristicoResponse> getPlanesByMunicipalidad(Long municipalidadId) {
-        return planRepository.findByMunicipalidadId(municipalidadId).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(planRepository.findByMunicipalidadId(municipalidadId));
     }
     
     public List<PlanTuristicoResponse> getPlanesByEstado(PlanTuristico.EstadoPlan estado) {
-        return planRepository.findByEstado(estado).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(planRepository.findByEstado(estado));
     }
     
     public List<PlanTuristicoResponse> getPlanesByNivelDificultad(PlanTuristico.NivelDificultad nivel) {
-        return planRepository.findByNivelDificultad(nivel).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(planRepository.findByNivelDificultad(nivel));
     }
     
     public List<PlanTuristicoResponse> getPlanesByDuracion(Integer duracionMin, Integer duracionMax) {
-        return planRepository.findByDuracionDiasBetween(duracionMin, duracionMax).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(planRepository.findByDuracionDiasBetween(duracionMin, duracionMax));
     }
     
     public List<PlanTuristicoResponse> getPlanesByPrecio(BigDecimal precioMin, BigDecimal precioMax) {
-        return planRepository.findByPrecioTotalBetween(precioMin, precioMax).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(planRepository.findByPrecioTotalBetween(precioMin, precioMax));
     }
     
-    public List<PlanTuristicoResponse> searchPlanes(String termino) {
-        return planRepository.findByNombreOrDescripcionContaining(termino, termino).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public List<PlanTuristicoResponse> searchPlanes(String termino, int limite) {
+        // El índice invertido resuelve la búsqueda; solo se cargan los planes encontrados, en orden de relevancia
+        List<Long> ids = busquedaService.buscarPlanes(termino, limite);
+        Map<Long, PlanTuristico> planes = planRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(PlanTuristico::getId, Function.identity()));
+        return convertToResponses(ids.stream()
+                .map(planes::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+    
+    public BusquedaFacetadaResponse<PlanTuristicoResponse> buscarCatalogo(PlanTuristico.NivelDificultad nivelDificultad, PlanTuristico.EstadoPlan estado,
+            Long municipalidadId, BigDecimal precioMin, BigDecimal precioMax,
+            int pagina, int tamano) {
+        IndiceFacetas.Resultado resultado = facetasService.buscarPlanes(
+                nivelDificultad, estado, municipalidadId, precioMin, precioMax);
+        
+        // Solo se cargan de la base de datos los elementos de la página pedida
+        List<Long> ids = resultado.getIds();
+        int desde = (int) Math.min((long) pagina * tamano, ids.size());
+        int hasta = Math.min(desde + tamano, ids.size());
+        List<Long> idsPagina = ids.subList(desde, hasta);
+        Map<Long, PlanTuristico> planes = planRepository.findByIdIn(idsPagina).stream()
+                .collect(Collectors.toMap(PlanTuristico::getId, Function.identity()));
+        
+        List<PlanTuristicoResponse> resultados = convertToResponses(idsPagina.stream()
+                .map(planes::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+        
+        return BusquedaFacetadaResponse.<PlanTuristicoResponse>builder()
+                .resultados(resultados)
+                .total(ids.size())
+                .pagina(pagina)
+                .tamano(tamano)
+                .facetas(resultado.getConteos())
+                .precioMinimo(resultado.getPrecioMinimo())
+                .precioMaximo(resultado.getPrecioMaximo())
+                .build();
     }
     
     public List<PlanTuristicoResponse> getMisPlanes() {
         Usuario usuario = getCurrentUser();
-        return planRepository.findByUsuarioCreadorId(usuario.getId()).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(planRepository.findByUsuarioCreadorId(usuario.getId()));
     }
     
-    public List<PlanTuristicoResponse> getPlanesMasPopulares() {
-        return planRepository.findMostPopular().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    // El orden sale del ranking en memoria; solo se cargan los planes del top pedido
+    public List<PlanTuristicoResponse> getPlanesMasPopulares(int limite) {
+        List<Long> ids = popularidadPlanesService.getPlanesMasPopulares(limite);
+        Map<Long, PlanTuristico> planes = planRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(PlanTuristico::getId, Function.identity()));
+        return convertToResponses(ids.stream()
+                .map(planes::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
     }
     
+    @CacheEvict(value = CacheConfig.CATALOGO_PLANES, allEntries = true)
     public PlanTuristicoResponse createPlan(PlanTuristicoRequest request) {
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.PLANES);
+        
         Usuario usuario = getCurrentUser();
         
         // Obtener municipalidad del usuario (si es municipalidad) o buscar por ID
@@ -142,6 +199,7 @@ public class PlanTuristicoService {
         PlanTuristico savedPlan = planRepository.save(plan);
         
         // Agregar servicios al plan
+        List<ServicioPlan> serviciosPlan = new ArrayList<>();
         for (ServicioPlanRequest servicioRequest : request.getServicios()) {
             ServicioTuristico servicio = servicioRepository.findById(servicioRequest.getServicioId())
                     .orElseThrow(() -> new ResourceNotFoundException("Servicio", "id", servicioRequest.getServicioId()));
@@ -159,13 +217,22 @@ public class PlanTuristicoService {
                     .esPersonalizable(servicioRequest.getEsPersonalizable())
                     .build();
             
-            servicioPlanRepository.save(servicioPlan);
+            serviciosPlan.add(servicioPlan);
+        }
+        
+        if (Boolean.TRUE.equals(request.getOptimizarRuta())) {
+            optimizarOrdenPorDia(serviciosPlan);
         }
+        servicioPlanRepository.saveAll(serviciosPlan);
+        indicesCatalogoService.planGuardado(savedPlan);
         
         return convertToResponse(savedPlan);
     }
     
+    @CacheEvict(value = CacheConfig.CATALOGO_PLANES, allEntries = true)
     public PlanTuristicoResponse updatePlan(Long id, PlanTuristicoRequest request) {
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.PLANES);
+        
         PlanTuristico plan = planRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Plan turístico", "id", id));
         
@@ -191,6 +258,7 @@ public class PlanTuristicoService {
         servicioPlanRepository.deleteByPlanId(id);
         
         // Agregar nuevos servicios y recalcular precio
+        List<ServicioPlan> serviciosPlan = new ArrayList<>();
         BigDecimal precioTotal = BigDecimal.ZERO;
         for (ServicioPlanRequest servicioRequest : request.getServicios()) {
             ServicioTuristico servicio = servicioRepository.findById(servicioRequest.getServicioId())
@@ -209,7 +277,7 @@ public class PlanTuristicoService {
                     .esPersonalizable(servicioRequest.getEsPersonalizable())
                     .build();
             
-            servicioPlanRepository.save(servicioPlan);
+            serviciosPlan.add(servicioPlan);
             
             // Calcular precio total
             BigDecimal precioServicio = servicioRequest.getPrecioEspecial() != null 
@@ -221,12 +289,21 @@ public class PlanTuristicoService {
             }
         }
         
+        if (Boolean.TRUE.equals(request.getOptimizarRuta())) {
+            optimizarOrdenPorDia(serviciosPlan);
+        }
+        servicioPlanRepository.saveAll(serviciosPlan);
+        
         plan.setPrecioTotal(precioTotal);
         PlanTuristico updatedPlan = planRepository.save(plan);
+        indicesCatalogoService.planGuardado(updatedPlan);
         return convertToResponse(updatedPlan);
     }
     
+    @CacheEvict(value = CacheConfig.CATALOGO_PLANES, allEntries = true)
     public void deletePlan(Long id) {
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.PLANES);
+        
         PlanTuristico plan = planRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Plan turístico", "id", id));
         
@@ -245,9 +322,13 @@ public class PlanTuristicoService {
         }
         
         planRepository.delete(plan);
+        indicesCatalogoService.planEliminado(id);
     }
     
+    @CacheEvict(value = CacheConfig.CATALOGO_PLANES, allEntries = true)
     public PlanTuristicoResponse cambiarEstado(Long id, PlanTuristico.EstadoPlan nuevoEstado) {
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.PLANES);
+        
         PlanTuristico plan = planRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Plan turístico", "id", id));
         
@@ -259,10 +340,40 @@ public class PlanTuristicoService {
         
         plan.setEstado(nuevoEstado);
         PlanTuristico updatedPlan = planRepository.save(plan);
+        indicesCatalogoService.planGuardado(updatedPlan);
         return convertToResponse(updatedPlan);
     }
     
     private PlanTuristicoResponse convertToResponse(PlanTuristico plan) {
+        return convertToResponses(List.of(plan)).get(0);
+    }
+    
+    // Servicios (con su ServicioTuristico) y total de reservas de todos los planes en dos consultas por lote,
+    // en lugar de recorrer plan.getServicios() y cargar plan.getReservas() completo solo para contarlas
+    private List<PlanTuristicoResponse> convertToResponses(List<PlanTuristico> planes) {
+        if (planes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> planIds = planes.stream()
+                .map(PlanTuristico::getId)
+                .collect(Collectors.toList());
+        
+        Map<Long, List<ServicioPlan>> serviciosPorPlan = servicioPlanRepository.findByPlanIdInConServicio(planIds).stream()
+                .collect(Collectors.groupingBy(servicioPlan -> servicioPlan.getPlan().getId()));
+        
+        Map<Long, Long> reservasPorPlan = new HashMap<>();
+        for (Object[] fila : reservaRepository.countByPlanIdIn(planIds)) {
+            reservasPorPlan.put((Long) fila[0], (Long) fila[1]);
+        }
+        
+        return planes.stream()
+                .map(plan -> convertToResponse(plan,
+                        serviciosPorPlan.getOrDefault(plan.getId(), List.of()),
+                        reservasPorPlan.getOrDefault(plan.getId(), 0L).intValue()))
+                .collect(Collectors.toList());
+    }
+    
+    private PlanTuristicoResponse convertToResponse(PlanTuristico plan, List<ServicioPlan> servicios, int totalReservas) {
         return PlanTuristicoResponse.builder()
                 .id(plan.getId())
                 .nombre(plan.getNombre())
@@ -282,13 +393,86 @@ public class PlanTuristicoService {
                 .fechaActualizacion(plan.getFechaActualizacion())
                 .municipalidad(convertToMunicipalidadBasicResponse(plan.getMunicipalidad()))
                 .usuarioCreador(convertToUsuarioBasicResponse(plan.getUsuarioCreador()))
-                .servicios(plan.getServicios().stream()
+                .servicios(servicios.stream()
                         .map(this::convertToServicioPlanResponse)
                         .collect(Collectors.toList()))
-                .totalReservas(plan.getReservas().size())
+                .totalReservas(totalReservas)
                 .build();
     }
     
+    // Listados: una consulta para los planes y otra para los servicios de todos ellos, sin importar cuántos sean.
+    // totalReservas queda vacío; se consulta en el detalle del plan, que no pasa por la caché
+    private List<PlanTuristicoResponse> convertListadoToResponses(List<PlanListadoProjection> filas) {
+        Map<Long, List<ServicioPlanResponse>> serviciosPorPlan = new HashMap<>();
+        if (!filas.isEmpty()) {
+            List<Long> planIds = filas.stream()
+                    .map(PlanListadoProjection::getId)
+                    .collect(Collectors.toList());
+            for (ServicioPlanListadoProjection servicio : servicioPlanRepository.findListadoByPlanIdIn(planIds)) {
+                serviciosPorPlan.computeIfAbsent(servicio.getPlanId(), id -> new ArrayList<>())
+                        .add(convertToServicioPlanResponse(servicio));
+            }
+        }
+        
+        return filas.stream()
+                .map(fila -> PlanTuristicoResponse.builder()
+                        .id(fila.getId())
+                        .nombre(fila.getNombre())
+                        .descripcion(fila.getDescripcion())
+                        .precioTotal(fila.getPrecioTotal())
+                        .duracionDias(fila.getDuracionDias())
+                        .capacidadMaxima(fila.getCapacidadMaxima())
+                        .estado(fila.getEstado())
+                        .nivelDificultad(fila.getNivelDificultad())
+                        .imagenPrincipalUrl(fila.getImagenPrincipalUrl())
+                        .itinerario(fila.getItinerario())
+                        .incluye(fila.getIncluye())
+                        .noIncluye(fila.getNoIncluye())
+                        .recomendaciones(fila.getRecomendaciones())
+                        .requisitos(fila.getRequisitos())
+                        .fechaCreacion(fila.getFechaCreacion())
+                        .fechaActualizacion(fila.getFechaActualizacion())
+                        .municipalidad(MunicipalidadBasicResponse.builder()
+                                .id(fila.getMunicipalidadId())
+                                .nombre(fila.getMunicipalidadNombre())
+                                .departamento(fila.getMunicipalidadDepartamento())
+                                .provincia(fila.getMunicipalidadProvincia())
+                                .distrito(fila.getMunicipalidadDistrito())
+                                .build())
+                        .usuarioCreador(UsuarioBasicResponse.builder()
+                                .id(fila.getUsuarioCreadorId())
+                                .nombre(fila.getUsuarioCreadorNombre())
+                                .apellido(fila.getUsuarioCreadorApellido())
+                                .username(fila.getUsuarioCreadorUsername())
+                                .email(fila.getUsuarioCreadorEmail())
+                                .build())
+                        .servicios(serviciosPorPlan.getOrDefault(fila.getId(), new ArrayList<>()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
+    // Reasigna ordenEnElDia de cada día según la ruta de menor distancia entre las ubicaciones de los servicios
+    private void optimizarOrdenPorDia(List<ServicioPlan> serviciosPlan) {
+        Map<Integer, List<ServicioPlan>> porDia = serviciosPlan.stream()
+                .collect(Collectors.groupingBy(ServicioPlan::getDiaDelPlan));
+        
+        for (List<ServicioPlan> delDia : porDia.values()) {
+            delDia.sort((a, b) -> Integer.compare(a.getOrdenEnElDia(), b.getOrdenEnElDia()));
+            List<OptimizadorRuta.Parada> paradas = delDia.stream()
+                    .map(sp -> new OptimizadorRuta.Parada(
+                            sp.getServicio().getLatitud(),
+                            sp.getServicio().getLongitud(),
+                            sp.getHoraInicio(),
+                            sp.getHoraFin()))
+                    .collect(Collectors.toList());
+            
+            int[] orden = OptimizadorRuta.optimizar(paradas);
+            for (int posicion = 0; posicion < orden.length; posicion++) {
+                delDia.get(orden[posicion]).setOrdenEnElDia(posicion + 1);
+            }
+        }
+    }
+    
     private ServicioPlanResponse convertToServicioPlanResponse(ServicioPlan servicioPlan) {
         return ServicioPlanResponse.builder()
                 .id(servicioPlan.getId())
@@ -304,6 +488,35 @@ public class PlanTuristicoService {
                 .build();
     }
     
+    private ServicioPlanResponse convertToServicioPlanResponse(ServicioPlanListadoProjection fila) {
+        return ServicioPlanResponse.builder()
+                .id(fila.getId())
+                .diaDelPlan(fila.getDiaDelPlan())
+                .ordenEnElDia(fila.getOrdenEnElDia())
+                .horaInicio(fila.getHoraInicio())
+                .horaFin(fila.getHoraFin())
+                .precioEspecial(fila.getPrecioEspecial())
+                .notas(fila.getNotas())
+                .esOpcional(fila.getEsOpcional())
+                .esPersonalizable(fila.getEsPersonalizable())
+                .servicio(ServicioTuristicoResponse.builder()
+                        .id(fila.getServicioId())
+                        .nombre(fila.getServicioNombre())
+                        .descripcion(fila.getServicioDescripcion())
+                        .precio(fila.getServicioPrecio())
+                        .duracionHoras(fila.getServicioDuracionHoras())
+                        .capacidadMaxima(fila.getServicioCapacidadMaxima())
+                        .tipo(fila.getServicioTipo())
+                        .estado(fila.getServicioEstado())
+                        .ubicacion(fila.getServicioUbicacion())
+                        .requisitos(fila.getServicioRequisitos())
+                        .incluye(fila.getServicioIncluye())
+                        .noIncluye(fila.getServicioNoIncluye())
+                        .imagenUrl(fila.getServicioImagenUrl())
+                        .build())
+                .build();
+    }
+    
     private ServicioTuristicoResponse convertToServicioResponse(ServicioTuristico servicio) {
         return ServicioTuristicoResponse.builder()
                 .id(servicio.getId())
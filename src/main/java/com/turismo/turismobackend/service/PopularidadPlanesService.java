@@ -0,0 +1,67 @@
+package com.turismo.turismobackend.service;
+
+import com.turismo.turismobackend.model.Reserva;
+import com.turismo.turismobackend.repository.ReservaRepository;
+import com.turismo.turismobackend.util.RankingPopularidad;
+import com.turismo.turismobackend.util.TrasCommit;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class PopularidadPlanesService {
+    
+    private static final double SEGUNDOS_POR_DIA = 86_400;
+    
+    private final ReservaRepository reservaRepository;
+    
+    @Value("${application.planes.popularidad.vida-media-dias:30}")
+    private double vidaMediaDias;
+    
+    private final RankingPopularidad ranking = new RankingPopularidad();
+    
+    // Instante respecto del cual se calculan los pesos; solo importa el orden relativo de los puntajes
+    private final long referencia = LocalDateTime.now().atZone(ZoneId.systemDefault()).toEpochSecond();
+    
+    @PostConstruct
+    public void cargarRanking() {
+        for (Object[] fila : reservaRepository.findPlanYFechaDeReservasActivas()) {
+            ranking.sumar((Long) fila[0], peso((LocalDateTime) fila[1]));
+        }
+    }
+    
+    public List<Long> getPlanesMasPopulares(int limite) {
+        return ranking.primeros(limite);
+    }
+    
+    // El ranking cambia tras el commit: una reserva revertida no debe contar
+    public void registrarReserva(Reserva reserva) {
+        Long planId = reserva.getPlan().getId();
+        double peso = peso(reserva.getFechaReserva());
+        TrasCommit.ejecutar(() -> ranking.sumar(planId, peso));
+    }
+    
+    // Resta el mismo peso con el que se sumó la reserva, calculado desde su fechaReserva
+    public void registrarCancelacion(Reserva reserva) {
+        Long planId = reserva.getPlan().getId();
+        double peso = peso(reserva.getFechaReserva());
+        TrasCommit.ejecutar(() -> ranking.restar(planId, peso));
+    }
+    
+    // Decaimiento exponencial sin recalcular puntajes: cada reserva pesa 2^(t / vidaMedia) respecto de la
+    // referencia, así una reserva de hace una vida media vale la mitad que una de ahora y el ranking
+    // no necesita una tarea periódica que envejezca los puntajes. Con vida media 0 todas pesan 1.
+    private double peso(LocalDateTime fechaReserva) {
+        if (vidaMediaDias <= 0 || fechaReserva == null) {
+            return 1.0;
+        }
+        long segundos = fechaReserva.atZone(ZoneId.systemDefault()).toEpochSecond() - referencia;
+        return Math.pow(2, segundos / (vidaMediaDias * SEGUNDOS_POR_DIA));
+    }
+}
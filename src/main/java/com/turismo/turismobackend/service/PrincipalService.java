@@ -0,0 +1,73 @@
+package com.turismo.turismobackend.service;
+
+import com.turismo.turismobackend.config.CacheConfig;
+import com.turismo.turismobackend.model.Rol;
+import com.turismo.turismobackend.model.Usuario;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Usuarios autenticados por JWT. El filtro los resuelve en cada petición: sin caché cada petición
+// autenticada costaba una consulta del usuario con sus roles.
+@Service
+@RequiredArgsConstructor
+public class PrincipalService {
+    
+    private final UserDetailsService userDetailsService;
+    
+    // Se guarda una copia inmutable y no la entidad: si varias peticiones compartieran el mismo Usuario,
+    // lo que una cambiara en él lo verían las demás
+    @Cacheable(value = CacheConfig.PRINCIPALES, key = "#username")
+    public PrincipalCacheado cargarPrincipal(String username) {
+        return new PrincipalCacheado((Usuario) userDetailsService.loadUserByUsername(username));
+    }
+    
+    // Se llama al cambiar los roles del usuario; con la caché transaccional se aplica tras el commit.
+    // Solo desaloja la entrada de este nodo: en los demás el cambio se ve cuando vence la entrada
+    // (expireAfterWrite de application.cache.principales.spec, 5 minutos), que es la cota de revocación.
+    @CacheEvict(value = CacheConfig.PRINCIPALES, key = "#username")
+    public void invalidar(String username) {
+    }
+    
+    // Datos del usuario que usan los servicios a través del principal; la contraseña no se guarda
+    public static final class PrincipalCacheado {
+        private final Long id;
+        private final String nombre;
+        private final String apellido;
+        private final String username;
+        private final String email;
+        private final Map<Long, Rol.RolNombre> roles;
+        
+        private PrincipalCacheado(Usuario usuario) {
+            this.id = usuario.getId();
+            this.nombre = usuario.getNombre();
+            this.apellido = usuario.getApellido();
+            this.username = usuario.getUsername();
+            this.email = usuario.getEmail();
+            this.roles = Map.copyOf(usuario.getRoles().stream()
+                    .collect(Collectors.toMap(Rol::getId, Rol::getNombre)));
+        }
+        
+        // Un Usuario nuevo (desasociado) por petición, armado a partir de la copia
+        public Usuario nuevoUsuario() {
+            Set<Rol> copiaRoles = roles.entrySet().stream()
+                    .map(rol -> Rol.builder().id(rol.getKey()).nombre(rol.getValue()).build())
+                    .collect(Collectors.toCollection(HashSet::new));
+            return Usuario.builder()
+                    .id(id)
+                    .nombre(nombre)
+                    .apellido(apellido)
+                    .username(username)
+                    .email(email)
+                    .roles(copiaRoles)
+                    .build();
+        }
+    }
+}
@@ -14,8 +14,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.TreeMap;
 
 import com.turismo.turismobackend.service.ChatService;
 import java.util.stream.Collectors;
@@ -32,6 +34,8 @@ public class ReservaCarritoService {
     private final EmprendedorRepository emprendedorRepository;
     private final ChatService chatService;
     private final ChatConversacionRepository conversacionRepository;
+    private final CapacidadService capacidadService;
+    private final RetencionCarritoService retencionService;
     
     public ReservaCarritoResponse crearReservaDesdeCarrito(ReservaCarritoRequest request) {
         Usuario usuario = getCurrentUser();
@@ -49,16 +53,25 @@ public class ReservaCarritoService {
             if (item.getServicio().getEstado() != ServicioTuristico.EstadoServicio.ACTIVO) {
                 throw new RuntimeException("El servicio " + item.getServicio().getNombre() + " no está disponible");
             }
-            
-            // Verificar capacidad
-            Long personasReservadas = reservaCarritoItemRepository
-                    .countPersonasByServicioAndFecha(item.getServicio().getId(), item.getFechaServicio());
-            
-            if (personasReservadas != null && 
-                personasReservadas + item.getCantidad() > item.getServicio().getCapacidadMaxima()) {
-                throw new RuntimeException("No hay suficiente capacidad para el servicio " + 
-                        item.getServicio().getNombre() + " en la fecha seleccionada");
+        }
+        
+        // Ocupar capacidad por (servicio, fecha). Las plazas retenidas al agregar al carrito ya están
+        // ocupadas; solo se reserva lo que falte si la retención venció. Se recorre en un orden fijo
+        // para que dos reservas concurrentes bloqueen las filas de capacidad en el mismo orden
+        Map<String, CarritoItem> primerItem = new TreeMap<>();
+        Map<String, Integer> cantidades = new TreeMap<>();
+        for (CarritoItem item : carrito.getItems()) {
+            String clave = String.format("%019d:%s", item.getServicio().getId(), item.getFechaServicio());
+            int retenidas = retencionService.consumir(item.getId());
+            primerItem.putIfAbsent(clave, item);
+            cantidades.merge(clave, item.getCantidad() - retenidas, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entrada : cantidades.entrySet()) {
+            if (entrada.getValue() <= 0) {
+                continue;
             }
+            CarritoItem item = primerItem.get(entrada.getKey());
+            capacidadService.reservar(item.getServicio(), item.getFechaServicio(), entrada.getValue());
         }
         
         // Crear reserva
@@ -184,10 +197,13 @@ public class ReservaCarritoService {
         reserva.setFechaCancelacion(LocalDateTime.now());
         reserva.setMotivoCancelacion(motivo);
         
-        // Cancelar items
+        // Cancelar items y liberar su capacidad: solo la transacción cuyo UPDATE condicional cambió el estado
+        // libera las plazas, así dos cancelaciones simultáneas no las devuelven dos veces
         for (ReservaCarritoItem item : reserva.getItems()) {
-            item.setEstado(ReservaCarritoItem.EstadoItemReserva.CANCELADO);
-            reservaCarritoItemRepository.save(item);
+            if (reservaCarritoItemRepository.cancelar(item.getId()) == 1) {
+                capacidadService.liberar(item.getServicio().getId(), item.getFechaServicio(), item.getCantidad());
+                item.setEstado(ReservaCarritoItem.EstadoItemReserva.CANCELADO);
+            }
         }
         
         return convertToReservaCarritoResponse(reservaCarritoRepository.save(reserva));
@@ -292,7 +308,7 @@ public class ReservaCarritoService {
         
         reserva.setEstado(ReservaCarrito.EstadoReservaCarrito.COMPLETADA);
         
-        // Completar todos los items
+        // Completar todos los items (sus plazas siguen ocupadas, la tabla de capacidad no cambia)
         for (ReservaCarritoItem item : reserva.getItems()) {
             item.setEstado(ReservaCarritoItem.EstadoItemReserva.COMPLETADO);
             reservaCarritoItemRepository.save(item);
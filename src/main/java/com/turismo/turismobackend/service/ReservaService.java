@@ -6,16 +6,26 @@ import com.turismo.turismobackend.exception.ResourceNotFoundException;
 import com.turismo.turismobackend.model.*;
 import com.turismo.turismobackend.dto.request.ReservaServicioRequest;
 import com.turismo.turismobackend.repository.*;
+import com.turismo.turismobackend.repository.projection.ReservaListadoProjection;
+import com.turismo.turismobackend.util.ExportadorFilas;
+import com.turismo.turismobackend.util.Paginacion;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -26,13 +36,18 @@ public class ReservaService {
     private final PlanTuristicoRepository planRepository;
     private final ServicioPlanRepository servicioPlanRepository;
     private final ReservaServicioRepository reservaServicioRepository;
+    private final InventarioPlanService inventarioPlanService;
+    private final PopularidadPlanesService popularidadPlanesService;
     
-    public List<ReservaResponse> getAllReservas() {
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public List<ReservaResponse> getAllReservas(Long after, int limite) {
         // Solo admin puede ver todas las reservas
         if (!hasRole("ROLE_ADMIN")) {
             throw new RuntimeException("No tiene permisos para ver todas las reservas");
         }
-        return reservaRepository.findAll().stream()
+        return reservaRepository.findListadoSiguientes(after, Paginacion.primeros(limite)).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
@@ -89,18 +104,41 @@ public class ReservaService {
                 .collect(Collectors.toList());
     }
     
-    public List<ReservaResponse> getReservasByMunicipalidad(Long municipalidadId) {
+    public List<ReservaResponse> getReservasByMunicipalidad(Long municipalidadId, Long after, int limite) {
         // Verificar que el usuario pertenece a la municipalidad o es admin
         Usuario usuario = getCurrentUser();
         if (!hasRole("ROLE_ADMIN") && !perteneceAMunicipalidad(usuario, municipalidadId)) {
             throw new RuntimeException("No tiene permisos para ver las reservas de esta municipalidad");
         }
         
-        return reservaRepository.findByMunicipalidadId(municipalidadId).stream()
+        return reservaRepository.findListadoSiguientesByMunicipalidadId(municipalidadId, after, Paginacion.primeros(limite)).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
     
+    // Se llama en el hilo de la petición, antes de empezar a escribir la exportación
+    public void verificarPermisoExportacion(Long municipalidadId) {
+        Usuario usuario = getCurrentUser();
+        if (!hasRole("ROLE_ADMIN") && !perteneceAMunicipalidad(usuario, municipalidadId)) {
+            throw new RuntimeException("No tiene permisos para ver las reservas de esta municipalidad");
+        }
+    }
+    
+    // Recorre las reservas con un cursor del driver y escribe cada una al leerla: la memoria usada no
+    // depende de la cantidad de filas. Cada reserva escrita se desprende del contexto de persistencia.
+    @Transactional(readOnly = true)
+    public void exportarReservasPorMunicipalidad(Long municipalidadId, ExportadorFilas exportador) throws IOException {
+        try (Stream<Reserva> reservas = reservaRepository.streamByMunicipalidadId(municipalidadId)) {
+            Iterator<Reserva> iterador = reservas.iterator();
+            while (iterador.hasNext()) {
+                Reserva reserva = iterador.next();
+                exportador.escribir(convertToFilaExportacion(reserva));
+                entityManager.detach(reserva);
+            }
+        }
+        exportador.terminar();
+    }
+    
     public ReservaResponse createReserva(ReservaRequest request) {
         Usuario usuario = getCurrentUser();
         
@@ -117,14 +155,8 @@ public class ReservaService {
         // 2. Validar fechas
         LocalDate fechaFin = request.getFechaInicio().plusDays(plan.getDuracionDias() - 1);
         
-        // 3. Verificar disponibilidad de capacidad
-        Long personasReservadas = reservaRepository.countPersonasByPlanAndDate(
-                request.getPlanId(), request.getFechaInicio());
-        
-        if (personasReservadas != null && 
-            personasReservadas + request.getNumeroPersonas() > plan.getCapacidadMaxima()) {
-            throw new RuntimeException("No hay suficiente capacidad disponible para las fechas seleccionadas");
-        }
+        // 3. Ocupar capacidad de la salida (verificación y actualización atómicas)
+        inventarioPlanService.reservar(plan, request.getFechaInicio(), request.getNumeroPersonas());
         
         // 4. Calcular montos con descuentos aplicables
         BigDecimal montoTotal = plan.getPrecioTotal().multiply(BigDecimal.valueOf(request.getNumeroPersonas()));
@@ -150,6 +182,7 @@ public class ReservaService {
                 .build();
         
         Reserva savedReserva = reservaRepository.save(reserva);
+        popularidadPlanesService.registrarReserva(savedReserva);
         
         // Crear servicios personalizados si se proporcionan
         if (request.getServiciosPersonalizados() != null) {
@@ -211,12 +244,20 @@ public class ReservaService {
             throw new RuntimeException("No se puede cancelar una reserva en estado " + reserva.getEstado());
         }
         
+        // La verificación anterior no basta con cancelaciones simultáneas: solo la transacción cuyo UPDATE
+        // condicional cambió el estado libera las plazas y descuenta la popularidad
+        LocalDateTime fechaCancelacion = LocalDateTime.now();
+        if (reservaRepository.cancelar(id, fechaCancelacion, motivo) == 0) {
+            throw new RuntimeException("La reserva ya fue cancelada o completada");
+        }
+        inventarioPlanService.liberar(reserva.getPlan().getId(), reserva.getFechaInicio(), reserva.getNumeroPersonas());
+        
         reserva.setEstado(Reserva.EstadoReserva.CANCELADA);
-        reserva.setFechaCancelacion(LocalDateTime.now());
+        reserva.setFechaCancelacion(fechaCancelacion);
         reserva.setMotivoCancelacion(motivo);
         
-        Reserva updatedReserva = reservaRepository.save(reserva);
-        return convertToResponse(updatedReserva);
+        popularidadPlanesService.registrarCancelacion(reserva);
+        return convertToResponse(reserva);
     }
     
     public ReservaResponse completarReserva(Long id) {
@@ -239,15 +280,6 @@ public class ReservaService {
         return convertToResponse(updatedReserva);
     }
     
-    private void verificarDisponibilidad(PlanTuristico plan, LocalDate fecha, Integer numeroPersonas) {
-        Long personasReservadas = reservaRepository.countPersonasByPlanAndDate(plan.getId(), fecha);
-        if (personasReservadas == null) personasReservadas = 0L;
-        
-        if (personasReservadas + numeroPersonas > plan.getCapacidadMaxima()) {
-            throw new RuntimeException("No hay suficiente capacidad disponible para la fecha seleccionada");
-        }
-    }
-    
     private BigDecimal calcularMontoTotal(PlanTuristico plan, ReservaRequest request) {
         BigDecimal total = plan.getPrecioTotal().multiply(BigDecimal.valueOf(request.getNumeroPersonas()));
         
@@ -281,6 +313,55 @@ public class ReservaService {
                 .build();
     }
     
+    // Listados: la fila ya trae plan, municipalidad y usuario, sin recorrer asociaciones LAZY
+    private ReservaResponse convertToResponse(ReservaListadoProjection fila) {
+        return ReservaResponse.builder()
+                .id(fila.getId())
+                .codigoReserva(fila.getCodigoReserva())
+                .fechaInicio(fila.getFechaInicio())
+                .fechaFin(fila.getFechaFin())
+                .numeroPersonas(fila.getNumeroPersonas())
+                .montoTotal(fila.getMontoTotal())
+                .montoDescuento(fila.getMontoDescuento())
+                .montoFinal(fila.getMontoFinal())
+                .estado(fila.getEstado())
+                .metodoPago(fila.getMetodoPago())
+                .observaciones(fila.getObservaciones())
+                .solicitudesEspeciales(fila.getSolicitudesEspeciales())
+                .contactoEmergencia(fila.getContactoEmergencia())
+                .telefonoEmergencia(fila.getTelefonoEmergencia())
+                .fechaReserva(fila.getFechaReserva())
+                .fechaConfirmacion(fila.getFechaConfirmacion())
+                .fechaCancelacion(fila.getFechaCancelacion())
+                .motivoCancelacion(fila.getMotivoCancelacion())
+                .plan(PlanTuristicoBasicResponse.builder()
+                        .id(fila.getPlanId())
+                        .nombre(fila.getPlanNombre())
+                        .descripcion(fila.getPlanDescripcion())
+                        .precioTotal(fila.getPlanPrecioTotal())
+                        .duracionDias(fila.getPlanDuracionDias())
+                        .capacidadMaxima(fila.getPlanCapacidadMaxima())
+                        .estado(fila.getPlanEstado())
+                        .nivelDificultad(fila.getPlanNivelDificultad())
+                        .imagenPrincipalUrl(fila.getPlanImagenPrincipalUrl())
+                        .municipalidad(MunicipalidadBasicResponse.builder()
+                                .id(fila.getMunicipalidadId())
+                                .nombre(fila.getMunicipalidadNombre())
+                                .departamento(fila.getMunicipalidadDepartamento())
+                                .provincia(fila.getMunicipalidadProvincia())
+                                .distrito(fila.getMunicipalidadDistrito())
+                                .build())
+                        .build())
+                .usuario(UsuarioBasicResponse.builder()
+                        .id(fila.getUsuarioId())
+                        .nombre(fila.getUsuarioNombre())
+                        .apellido(fila.getUsuarioApellido())
+                        .username(fila.getUsuarioUsername())
+                        .email(fila.getUsuarioEmail())
+                        .build())
+                .build();
+    }
+    
     private PlanTuristicoBasicResponse convertToPlanBasicResponse(PlanTuristico plan) {
         return PlanTuristicoBasicResponse.builder()
                 .id(plan.getId())
@@ -442,6 +523,28 @@ public class ReservaService {
     }
 
     
+    private Map<String, Object> convertToFilaExportacion(Reserva reserva) {
+        Map<String, Object> fila = new LinkedHashMap<>();
+        fila.put("id", reserva.getId());
+        fila.put("codigoReserva", reserva.getCodigoReserva());
+        fila.put("planId", reserva.getPlan().getId());
+        fila.put("plan", reserva.getPlan().getNombre());
+        // Solo el id: leerlo del proxy no dispara una consulta
+        fila.put("usuarioId", reserva.getUsuario().getId());
+        fila.put("fechaInicio", reserva.getFechaInicio());
+        fila.put("fechaFin", reserva.getFechaFin());
+        fila.put("numeroPersonas", reserva.getNumeroPersonas());
+        fila.put("montoTotal", reserva.getMontoTotal());
+        fila.put("montoDescuento", reserva.getMontoDescuento());
+        fila.put("montoFinal", reserva.getMontoFinal());
+        fila.put("estado", reserva.getEstado());
+        fila.put("metodoPago", reserva.getMetodoPago());
+        fila.put("fechaReserva", reserva.getFechaReserva());
+        fila.put("fechaConfirmacion", reserva.getFechaConfirmacion());
+        fila.put("fechaCancelacion", reserva.getFechaCancelacion());
+        return fila;
+    }
+    
     private boolean perteneceAMunicipalidad(Usuario usuario, Long municipalidadId) {
         // Implementar lógica para verificar si el usuario pertenece a la municipalidad
         return false; // Placeholder
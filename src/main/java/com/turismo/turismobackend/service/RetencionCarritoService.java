@@ -0,0 +1,179 @@
+package com.turismo.turismobackend.service;
+
+import com.turismo.turismobackend.model.CarritoItem;
+import com.turismo.turismobackend.model.RetencionCarrito;
+import com.turismo.turismobackend.repository.RetencionCarritoRepository;
+import com.turismo.turismobackend.util.TrasCommit;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RetencionCarritoService {
+    
+    private final RetencionCarritoRepository retencionRepository;
+    private final CapacidadService capacidadService;
+    private final PlatformTransactionManager transactionManager;
+    
+    @Value("${application.reservas.retencion-minutos:15}")
+    private long retencionMinutos;
+    
+    // Vencimientos pendientes ordenados por instante: el barredor duerme hasta el siguiente en lugar de
+    // recorrer la tabla periódicamente, y cada operación de la cola es O(log n)
+    private final DelayQueue<Vencimiento> vencimientos = new DelayQueue<>();
+    
+    // Espera antes de reintentar una liberación fallida: se duplica en cada intento hasta el máximo
+    private static final long REINTENTO_INICIAL_MILIS = 1_000;
+    private static final long REINTENTO_MAXIMO_MILIS = 5 * 60_000;
+    
+    private Thread barredor;
+    
+    @PostConstruct
+    public void iniciar() {
+        // Las retenciones que quedaron de una ejecución anterior se liberan en cuanto venzan
+        for (Object[] fila : retencionRepository.findVencimientos()) {
+            vencimientos.add(new Vencimiento((Long) fila[0], aMilis((LocalDateTime) fila[1])));
+        }
+        
+        barredor = new Thread(this::barrer, "barredor-retenciones-carrito");
+        barredor.setDaemon(true);
+        barredor.start();
+    }
+    
+    @PreDestroy
+    public void detener() {
+        if (barredor != null) {
+            barredor.interrupt();
+        }
+    }
+    
+    // Aparta las plazas del item por el plazo configurado, reemplazando la retención anterior si la había.
+    // Si no hay capacidad lanza excepción y el cambio en el carrito se revierte.
+    public LocalDateTime retener(CarritoItem item) {
+        soltar(item.getId());
+        
+        capacidadService.reservar(item.getServicio(), item.getFechaServicio(), item.getCantidad());
+        
+        RetencionCarrito retencion = retencionRepository.save(RetencionCarrito.builder()
+                .carritoItemId(item.getId())
+                .servicioId(item.getServicio().getId())
+                .fecha(item.getFechaServicio())
+                .cantidad(item.getCantidad())
+                .expiracion(LocalDateTime.now().plusMinutes(retencionMinutos))
+                .build());
+        programarAlConfirmar(retencion);
+        return retencion.getExpiracion();
+    }
+    
+    // Libera las plazas apartadas para el item, si seguían apartadas
+    public void soltar(Long carritoItemId) {
+        quitar(carritoItemId).ifPresent(r -> capacidadService.liberar(r.getServicioId(), r.getFecha(), r.getCantidad()));
+    }
+    
+    // Quita la retención del item y devuelve cuántas plazas tenía apartadas (0 si ya había vencido).
+    // Esas plazas siguen ocupadas en capacidad_servicios y pasan a ser de la reserva.
+    public int consumir(Long carritoItemId) {
+        return quitar(carritoItemId).map(RetencionCarrito::getCantidad).orElse(0);
+    }
+    
+    private Optional<RetencionCarrito> quitar(Long carritoItemId) {
+        Optional<RetencionCarrito> retencion = retencionRepository.findByCarritoItemId(carritoItemId);
+        if (retencion.isEmpty() || retencionRepository.eliminar(retencion.get().getId()) == 0) {
+            return Optional.empty();
+        }
+        return retencion;
+    }
+    
+    private void barrer() {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        while (!Thread.currentThread().isInterrupted()) {
+            Vencimiento vencimiento;
+            try {
+                vencimiento = vencimientos.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                transaccion.executeWithoutResult(estado -> liberarSiVencida(vencimiento.retencionId));
+            } catch (RuntimeException e) {
+                // Si se descartara, las plazas quedarían ocupadas hasta el próximo reinicio: se reintenta
+                // con espera creciente para no insistir en bucle mientras la base de datos no responda
+                Vencimiento reintento = vencimiento.reintentar();
+                log.warn("No se pudo liberar la retención de carrito {} (intento {}), se reintenta en {} ms",
+                        vencimiento.retencionId, reintento.intentos, reintento.getDelay(TimeUnit.MILLISECONDS), e);
+                vencimientos.add(reintento);
+            }
+        }
+    }
+    
+    private void liberarSiVencida(Long retencionId) {
+        // Si el checkout o el carrito la consumieron antes, la fila ya no está y no hay nada que hacer
+        Optional<RetencionCarrito> retencion = retencionRepository.findById(retencionId);
+        if (retencion.isEmpty()) {
+            return;
+        }
+        RetencionCarrito r = retencion.get();
+        if (retencionRepository.eliminarSiVencida(r.getId(), LocalDateTime.now()) == 1) {
+            capacidadService.liberar(r.getServicioId(), r.getFecha(), r.getCantidad());
+        }
+    }
+    
+    // Se encola tras el commit: antes el barredor no vería la fila y la retención nunca vencería
+    private void programarAlConfirmar(RetencionCarrito retencion) {
+        Vencimiento vencimiento = new Vencimiento(retencion.getId(), aMilis(retencion.getExpiracion()));
+        TrasCommit.ejecutar(() -> vencimientos.add(vencimiento));
+    }
+    
+    private static long aMilis(LocalDateTime fecha) {
+        return fecha.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private static class Vencimiento implements Delayed {
+        
+        private final Long retencionId;
+        private final long instante;
+        private final int intentos;
+        
+        Vencimiento(Long retencionId, long instante) {
+            this(retencionId, instante, 0);
+        }
+        
+        private Vencimiento(Long retencionId, long instante, int intentos) {
+            this.retencionId = retencionId;
+            this.instante = instante;
+            this.intentos = intentos;
+        }
+        
+        Vencimiento reintentar() {
+            long espera = Math.min(REINTENTO_MAXIMO_MILIS, REINTENTO_INICIAL_MILIS << Math.min(intentos, 20));
+            return new Vencimiento(retencionId, System.currentTimeMillis() + espera, intentos + 1);
+        }
+        
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(instante - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+        
+        @Override
+        public int compareTo(Delayed otro) {
+            return Long.compare(instante, ((Vencimiento) otro).instante);
+        }
+    }
+}
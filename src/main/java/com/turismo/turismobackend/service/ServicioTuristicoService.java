@@ -1,6 +1,8 @@
 package com.turismo.turismobackend.service;
 
+import com.turismo.turismobackend.config.CacheConfig;
 import com.turismo.turismobackend.dto.request.ServicioTuristicoRequest;
+import com.turismo.turismobackend.dto.response.BusquedaFacetadaResponse;
 import com.turismo.turismobackend.dto.response.ServicioTuristicoResponse;
 import com.turismo.turismobackend.dto.response.EmprendedorBasicResponse;
 import com.turismo.turismobackend.dto.response.MunicipalidadBasicResponse;
@@ -10,13 +12,22 @@ import com.turismo.turismobackend.model.Emprendedor;
 import com.turismo.turismobackend.model.Usuario;
 import com.turismo.turismobackend.repository.ServicioTuristicoRepository;
 import com.turismo.turismobackend.repository.EmprendedorRepository;
+import com.turismo.turismobackend.repository.projection.ServicioListadoProjection;
+import com.turismo.turismobackend.util.GeoUtils;
+import com.turismo.turismobackend.util.IndiceFacetas;
+import com.turismo.turismobackend.util.Paginacion;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,9 +37,22 @@ public class ServicioTuristicoService {
     
     private final ServicioTuristicoRepository servicioRepository;
     private final EmprendedorRepository emprendedorRepository;
+    private final BusquedaService busquedaService;
+    private final FacetasService facetasService;
+    private final IndicesCatalogoService indicesCatalogoService;
+    private final VersionCatalogoService versionCatalogoService;
     
-    public List<ServicioTuristicoResponse> getAllServicios() {
-        return servicioRepository.findAll().stream()
+    // Solo se guarda en caché la primera página de tamaño máximo, la que reciben los clientes sin parámetros de
+    // paginación. La clave es la versión del listado: cuando cambia, cada nodo vuelve a leer de la base de datos
+    // aunque su caché no haya recibido la invalidación
+    @Cacheable(value = CacheConfig.CATALOGO_SERVICIOS, key = "#p0")
+    public List<ServicioTuristicoResponse> getPrimeraPaginaServicios(long version) {
+        return getAllServicios(0L, Paginacion.LIMITE_MAXIMO);
+    }
+    
+    // Las demás páginas no pasan por la caché: se leen con la consulta por cursor
+    public List<ServicioTuristicoResponse> getAllServicios(Long after, int limite) {
+        return servicioRepository.findListadoSiguientes(after, Paginacion.primeros(limite)).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
@@ -69,12 +93,49 @@ public class ServicioTuristicoService {
                 .collect(Collectors.toList());
     }
     
-    public List<ServicioTuristicoResponse> searchServicios(String termino) {
-        return servicioRepository.findByNombreOrDescripcionContaining(termino, termino).stream()
+    public List<ServicioTuristicoResponse> searchServicios(String termino, int limite) {
+        // El índice invertido resuelve la búsqueda; solo se cargan los servicios encontrados, en orden de relevancia
+        List<Long> ids = busquedaService.buscarServicios(termino, limite);
+        Map<Long, ServicioTuristico> servicios = servicioRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ServicioTuristico::getId, Function.identity()));
+        return ids.stream()
+                .map(servicios::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
     
+    public BusquedaFacetadaResponse<ServicioTuristicoResponse> buscarCatalogo(ServicioTuristico.TipoServicio tipo, ServicioTuristico.EstadoServicio estado,
+            Long municipalidadId, Long categoriaId, BigDecimal precioMin, BigDecimal precioMax,
+            int pagina, int tamano) {
+        IndiceFacetas.Resultado resultado = facetasService.buscarServicios(
+                tipo, estado, municipalidadId, categoriaId, precioMin, precioMax);
+        
+        // Solo se cargan de la base de datos los elementos de la página pedida
+        List<Long> ids = resultado.getIds();
+        int desde = (int) Math.min((long) pagina * tamano, ids.size());
+        int hasta = Math.min(desde + tamano, ids.size());
+        List<Long> idsPagina = ids.subList(desde, hasta);
+        Map<Long, ServicioTuristico> servicios = servicioRepository.findAllById(idsPagina).stream()
+                .collect(Collectors.toMap(ServicioTuristico::getId, Function.identity()));
+        
+        List<ServicioTuristicoResponse> resultados = idsPagina.stream()
+                .map(servicios::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+        
+        return BusquedaFacetadaResponse.<ServicioTuristicoResponse>builder()
+                .resultados(resultados)
+                .total(ids.size())
+                .pagina(pagina)
+                .tamano(tamano)
+                .facetas(resultado.getConteos())
+                .precioMinimo(resultado.getPrecioMinimo())
+                .precioMaximo(resultado.getPrecioMaximo())
+                .build();
+    }
+    
     public List<ServicioTuristicoResponse> getMisServicios() {
         Usuario usuario = getCurrentUser();
         Emprendedor emprendedor = emprendedorRepository.findByUsuarioId(usuario.getId())
@@ -85,7 +146,10 @@ public class ServicioTuristicoService {
                 .collect(Collectors.toList());
     }
     
+    @CacheEvict(value = CacheConfig.CATALOGO_SERVICIOS, allEntries = true)
     public ServicioTuristicoResponse createServicio(ServicioTuristicoRequest request) {
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.SERVICIOS);
+        
         Usuario usuario = getCurrentUser();
         Emprendedor emprendedor = emprendedorRepository.findByUsuarioId(usuario.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Emprendedor", "usuario_id", usuario.getId()));
@@ -109,10 +173,14 @@ public class ServicioTuristicoService {
                 .build();
         
         ServicioTuristico savedServicio = servicioRepository.save(servicio);
+        indicesCatalogoService.servicioGuardado(savedServicio);
         return convertToResponse(savedServicio);
     }
     
+    @CacheEvict(value = {CacheConfig.CATALOGO_SERVICIOS, CacheConfig.CATALOGO_PLANES}, allEntries = true)
     public ServicioTuristicoResponse updateServicio(Long id, ServicioTuristicoRequest request) {
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.SERVICIOS, VersionCatalogoService.Agregado.PLANES);
+        
         ServicioTuristico servicio = servicioRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Servicio turístico", "id", id));
         
@@ -137,10 +205,14 @@ public class ServicioTuristicoService {
         servicio.setImagenUrl(request.getImagenUrl());
         
         ServicioTuristico updatedServicio = servicioRepository.save(servicio);
+        indicesCatalogoService.servicioGuardado(updatedServicio);
         return convertToResponse(updatedServicio);
     }
     
+    @CacheEvict(value = {CacheConfig.CATALOGO_SERVICIOS, CacheConfig.CATALOGO_PLANES}, allEntries = true)
     public void deleteServicio(Long id) {
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.SERVICIOS, VersionCatalogoService.Agregado.PLANES);
+        
         ServicioTuristico servicio = servicioRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Servicio turístico", "id", id));
         
@@ -151,9 +223,13 @@ public class ServicioTuristicoService {
         }
         
         servicioRepository.delete(servicio);
+        indicesCatalogoService.servicioEliminado(id);
     }
     
+    @CacheEvict(value = {CacheConfig.CATALOGO_SERVICIOS, CacheConfig.CATALOGO_PLANES}, allEntries = true)
     public ServicioTuristicoResponse cambiarEstado(Long id, ServicioTuristico.EstadoServicio nuevoEstado) {
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.SERVICIOS, VersionCatalogoService.Agregado.PLANES);
+        
         ServicioTuristico servicio = servicioRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Servicio turístico", "id", id));
         
@@ -165,6 +241,7 @@ public class ServicioTuristicoService {
         
         servicio.setEstado(nuevoEstado);
         ServicioTuristico updatedServicio = servicioRepository.save(servicio);
+        indicesCatalogoService.servicioGuardado(updatedServicio);
         return convertToResponse(updatedServicio);
     }
     
@@ -189,6 +266,44 @@ public class ServicioTuristicoService {
                 .build();
     }
     
+    // Mismo contenido que convertToResponse(ServicioTuristico), armado desde la fila plana del listado
+    private ServicioTuristicoResponse convertToResponse(ServicioListadoProjection fila) {
+        MunicipalidadBasicResponse municipalidad = fila.getMunicipalidadId() == null ? null :
+                MunicipalidadBasicResponse.builder()
+                        .id(fila.getMunicipalidadId())
+                        .nombre(fila.getMunicipalidadNombre())
+                        .departamento(fila.getMunicipalidadDepartamento())
+                        .provincia(fila.getMunicipalidadProvincia())
+                        .distrito(fila.getMunicipalidadDistrito())
+                        .build();
+        
+        return ServicioTuristicoResponse.builder()
+                .id(fila.getId())
+                .nombre(fila.getNombre())
+                .descripcion(fila.getDescripcion())
+                .precio(fila.getPrecio())
+                .duracionHoras(fila.getDuracionHoras())
+                .capacidadMaxima(fila.getCapacidadMaxima())
+                .tipo(fila.getTipo())
+                .estado(fila.getEstado())
+                .ubicacion(fila.getUbicacion())
+                .latitud(fila.getLatitud())
+                .longitud(fila.getLongitud())
+                .requisitos(fila.getRequisitos())
+                .incluye(fila.getIncluye())
+                .noIncluye(fila.getNoIncluye())
+                .imagenUrl(fila.getImagenUrl())
+                .emprendedor(EmprendedorBasicResponse.builder()
+                        .id(fila.getEmprendedorId())
+                        .nombreEmpresa(fila.getEmprendedorNombreEmpresa())
+                        .rubro(fila.getEmprendedorRubro())
+                        .telefono(fila.getEmprendedorTelefono())
+                        .email(fila.getEmprendedorEmail())
+                        .municipalidad(municipalidad)
+                        .build())
+                .build();
+    }
+    
     private EmprendedorBasicResponse convertToEmprendedorBasicResponse(Emprendedor emprendedor) {
         return EmprendedorBasicResponse.builder()
                 .id(emprendedor.getId())
@@ -207,27 +322,14 @@ public class ServicioTuristicoService {
     }
     // NUEVO MÉTODO para servicios cercanos
     public List<ServicioTuristicoResponse> getServiciosCercanos(Double latitud, Double longitud, Double radioKm) {
-        return servicioRepository.findAll().stream()
-                .filter(ServicioTuristico::tieneUbicacionValida)
-                .filter(servicio -> calcularDistancia(latitud, longitud, 
+        // La caja envolvente se filtra en la BD (usa idx_servicios_lat_lng); Haversine solo sobre los candidatos
+        double[] caja = GeoUtils.calcularCajaEnvolvente(latitud, longitud, radioKm);
+        return servicioRepository.findByCajaEnvolvente(caja[0], caja[1], caja[2], caja[3]).stream()
+                .filter(servicio -> GeoUtils.calcularDistancia(latitud, longitud, 
                         servicio.getLatitud(), servicio.getLongitud()) <= radioKm)
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
-
-    private double calcularDistancia(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371; // Radio de la Tierra en km
-        
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        
-        return R * c;
-    }
-
     
     private Usuario getCurrentUser() {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -1,16 +1,24 @@
 package com.turismo.turismobackend.service;
 
+import com.turismo.turismobackend.config.CacheConfig;
+import com.turismo.turismobackend.dto.request.MatrizDistanciasRequest;
 import com.turismo.turismobackend.dto.request.UbicacionRequest;
 import com.turismo.turismobackend.dto.response.*;
 import com.turismo.turismobackend.exception.ResourceNotFoundException;
 import com.turismo.turismobackend.model.*;
 import com.turismo.turismobackend.repository.*;
+import com.turismo.turismobackend.util.GeoUtils;
+import com.turismo.turismobackend.util.IndiceEspacial;
+import com.turismo.turismobackend.util.RejillaClusters;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,13 +29,23 @@ public class UbicacionService {
     private final EmprendedorRepository emprendedorRepository;
     private final ServicioTuristicoRepository servicioRepository;
     private final MunicipalidadRepository municipalidadRepository;
+    private final IndiceUbicacionService indiceUbicacionService;
+    private final IndicesCatalogoService indicesCatalogoService;
+    private final VersionCatalogoService versionCatalogoService;
     
     public List<EmprendedorResponse> obtenerEmprendedoresConUbicacion(
             Long municipalidadId, Double latitud, Double longitud, Double radio) {
         
         List<Emprendedor> emprendedores;
         
-        if (municipalidadId != null) {
+        if (latitud != null && longitud != null && radio != null) {
+            // Solo se cargan los candidatos que el índice espacial encuentra dentro del radio
+            List<Long> ids = indiceUbicacionService.buscarEmprendedoresEnRadio(latitud, longitud, radio);
+            emprendedores = emprendedorRepository.findAllById(ids).stream()
+                    .filter(e -> municipalidadId == null || 
+                            (e.getMunicipalidad() != null && municipalidadId.equals(e.getMunicipalidad().getId())))
+                    .collect(Collectors.toList());
+        } else if (municipalidadId != null) {
             emprendedores = emprendedorRepository.findByMunicipalidadId(municipalidadId);
         } else {
             emprendedores = emprendedorRepository.findAll();
@@ -51,7 +69,15 @@ public class UbicacionService {
         
         List<ServicioTuristico> servicios;
         
-        if (municipalidadId != null && tipoServicio != null) {
+        if (latitud != null && longitud != null && radio != null) {
+            // Solo se cargan los candidatos que el índice espacial encuentra dentro del radio
+            List<Long> ids = indiceUbicacionService.buscarServiciosEnRadio(latitud, longitud, radio);
+            servicios = servicioRepository.findAllById(ids).stream()
+                    .filter(s -> tipoServicio == null || s.getTipo().name().equals(tipoServicio.toUpperCase()))
+                    .filter(s -> municipalidadId == null || 
+                            municipalidadId.equals(s.getEmprendedor().getMunicipalidad().getId()))
+                    .collect(Collectors.toList());
+        } else if (municipalidadId != null && tipoServicio != null) {
             servicios = servicioRepository.findByEmprendedorMunicipalidadId(municipalidadId)
                     .stream()
                     .filter(s -> s.getTipo().name().equals(tipoServicio.toUpperCase()))
@@ -97,9 +123,12 @@ public class UbicacionService {
         emprendedor.setDireccionCompleta(request.getDireccionCompleta());
         
         Emprendedor saved = emprendedorRepository.save(emprendedor);
+        indicesCatalogoService.emprendedorGuardado(saved);
         return convertEmprendedorToUbicacionResponse(saved);
     }
     
+    // Las coordenadas del servicio forman parte del listado del catálogo
+    @CacheEvict(value = CacheConfig.CATALOGO_SERVICIOS, allEntries = true)
     public UbicacionResponse actualizarUbicacionServicio(Long servicioId, UbicacionRequest request) {
         ServicioTuristico servicio = servicioRepository.findById(servicioId)
                 .orElseThrow(() -> new ResourceNotFoundException("Servicio", "id", servicioId));
@@ -114,6 +143,8 @@ public class UbicacionService {
         servicio.setLongitud(request.getLongitud());
         
         ServicioTuristico saved = servicioRepository.save(servicio);
+        indicesCatalogoService.servicioGuardado(saved);
+        versionCatalogoService.incrementar(VersionCatalogoService.Agregado.SERVICIOS);
         return convertServicioToUbicacionResponse(saved);
     }
     
@@ -127,6 +158,46 @@ public class UbicacionService {
         return calcularDistancia(lat1, lng1, lat2, lng2);
     }
     
+    public MatrizDistanciasResponse calcularMatrizDistancias(MatrizDistanciasRequest request) {
+        double[] latitudes;
+        double[] longitudes;
+        List<Long> servicioIds = null;
+        
+        if (request.getPuntos() != null && !request.getPuntos().isEmpty()) {
+            List<UbicacionRequest> puntos = request.getPuntos();
+            latitudes = new double[puntos.size()];
+            longitudes = new double[puntos.size()];
+            for (int i = 0; i < puntos.size(); i++) {
+                latitudes[i] = puntos.get(i).getLatitud();
+                longitudes[i] = puntos.get(i).getLongitud();
+            }
+        } else {
+            servicioIds = request.getServicioIds();
+            Map<Long, ServicioTuristico> servicios = servicioRepository.findAllById(servicioIds).stream()
+                    .collect(Collectors.toMap(ServicioTuristico::getId, Function.identity()));
+            latitudes = new double[servicioIds.size()];
+            longitudes = new double[servicioIds.size()];
+            for (int i = 0; i < servicioIds.size(); i++) {
+                Long servicioId = servicioIds.get(i);
+                ServicioTuristico servicio = servicios.get(servicioId);
+                if (servicio == null) {
+                    throw new ResourceNotFoundException("Servicio", "id", servicioId);
+                }
+                if (!servicio.tieneUbicacionValida()) {
+                    throw new RuntimeException("El servicio " + servicioId + " no tiene una ubicación válida");
+                }
+                latitudes[i] = servicio.getLatitud();
+                longitudes[i] = servicio.getLongitud();
+            }
+        }
+        
+        return MatrizDistanciasResponse.builder()
+                .cantidad(latitudes.length)
+                .servicioIds(servicioIds)
+                .distanciasKm(GeoUtils.calcularMatrizDistancias(latitudes, longitudes))
+                .build();
+    }
+    
     public List<UbicacionResponse> obtenerUbicacionesCercanas(Double latitud, Double longitud, Double radio, String tipo) {
         if ("emprendedores".equals(tipo)) {
             return obtenerEmprendedoresConUbicacion(null, latitud, longitud, radio)
@@ -152,6 +223,61 @@ public class UbicacionService {
         return List.of();
     }
     
+    public List<UbicacionCercanaResponse> obtenerMasCercanos(double latitud, double longitud, int k, String tipo) {
+        if ("emprendedores".equals(tipo)) {
+            List<IndiceEspacial.Vecino> vecinos = indiceUbicacionService.buscarEmprendedoresMasCercanos(latitud, longitud, k);
+            Map<Long, Emprendedor> emprendedores = emprendedorRepository.findAllById(idsDe(vecinos)).stream()
+                    .collect(Collectors.toMap(Emprendedor::getId, Function.identity()));
+            
+            return vecinos.stream()
+                    .filter(vecino -> emprendedores.containsKey(vecino.getId()))
+                    .map(vecino -> UbicacionCercanaResponse.builder()
+                            .distanciaKm(vecino.getDistanciaKm())
+                            .emprendedor(convertEmprendedorToResponse(emprendedores.get(vecino.getId())))
+                            .build())
+                    .collect(Collectors.toList());
+        } else if ("servicios".equals(tipo)) {
+            List<IndiceEspacial.Vecino> vecinos = indiceUbicacionService.buscarServiciosMasCercanos(latitud, longitud, k);
+            Map<Long, ServicioTuristico> servicios = servicioRepository.findAllById(idsDe(vecinos)).stream()
+                    .collect(Collectors.toMap(ServicioTuristico::getId, Function.identity()));
+            
+            return vecinos.stream()
+                    .filter(vecino -> servicios.containsKey(vecino.getId()))
+                    .map(vecino -> UbicacionCercanaResponse.builder()
+                            .distanciaKm(vecino.getDistanciaKm())
+                            .servicio(convertServicioToResponse(servicios.get(vecino.getId())))
+                            .build())
+                    .collect(Collectors.toList());
+        }
+        return List.of();
+    }
+    
+    public List<ClusterMapaResponse> obtenerClusters(int zoom, double latMin, double latMax,
+                                                     double lngMin, double lngMax, String tipo) {
+        List<RejillaClusters.Cluster> clusters = "emprendedores".equals(tipo)
+                ? indiceUbicacionService.buscarClustersEmprendedores(zoom, latMin, latMax, lngMin, lngMax)
+                : indiceUbicacionService.buscarClustersServicios(zoom, latMin, latMax, lngMin, lngMax);
+        
+        return clusters.stream()
+                .map(cluster -> ClusterMapaResponse.builder()
+                        .zoom(cluster.getZoom())
+                        .x(cluster.getX())
+                        .y(cluster.getY())
+                        .cantidad(cluster.getCantidad())
+                        .latitud(cluster.getLatitud())
+                        .longitud(cluster.getLongitud())
+                        .tipoDominante(cluster.getCategoriaDominante())
+                        .id(cluster.getIdUnico())
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
+    private List<Long> idsDe(List<IndiceEspacial.Vecino> vecinos) {
+        return vecinos.stream()
+                .map(IndiceEspacial.Vecino::getId)
+                .collect(Collectors.toList());
+    }
+    
     // Métodos de conversión privados
     private EmprendedorResponse convertEmprendedorToResponse(Emprendedor emprendedor) {
         return EmprendedorResponse.builder()
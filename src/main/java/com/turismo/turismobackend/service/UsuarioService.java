@@ -8,6 +8,7 @@ import com.turismo.turismobackend.model.Usuario;
 import com.turismo.turismobackend.repository.EmprendedorRepository;
 import com.turismo.turismobackend.repository.RolRepository;
 import com.turismo.turismobackend.repository.UsuarioRepository;
+import com.turismo.turismobackend.util.Paginacion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,9 +24,10 @@ public class UsuarioService {
     private final UsuarioRepository usuarioRepository;
     private final EmprendedorRepository emprendedorRepository;
     private final RolRepository rolRepository;
+    private final PrincipalService principalService;
     
-    public List<UsuarioResponse> getAllUsuarios() {
-        return usuarioRepository.findAll().stream()
+    public List<UsuarioResponse> getAllUsuarios(Long after, int limite) {
+        return usuarioRepository.findSiguientes(after, Paginacion.primeros(limite)).stream()
                 .map(this::mapToUsuarioResponse)
                 .collect(Collectors.toList());
     }
@@ -150,6 +152,7 @@ public class UsuarioService {
         // Asignar el rol
         usuario.getRoles().add(rol);
         usuarioRepository.save(usuario);
+        principalService.invalidar(usuario.getUsername());
     }
     
     @Transactional
@@ -185,6 +188,7 @@ public class UsuarioService {
         // Quitar el rol
         usuario.getRoles().remove(rol);
         usuarioRepository.save(usuario);
+        principalService.invalidar(usuario.getUsername());
     }
     
     @Transactional
@@ -200,6 +204,7 @@ public class UsuarioService {
         usuario.getRoles().clear();
         usuario.getRoles().add(userRole);
         usuarioRepository.save(usuario);
+        principalService.invalidar(usuario.getUsername());
     }
     
     private UsuarioResponse mapToUsuarioResponse(Usuario usuario) {
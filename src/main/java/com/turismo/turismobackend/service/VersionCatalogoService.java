@@ -0,0 +1,64 @@
+package com.turismo.turismobackend.service;
+
+import com.turismo.turismobackend.model.VersionCatalogo;
+import com.turismo.turismobackend.repository.VersionCatalogoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Versión de cada listado del catálogo, para los ETag de los GET condicionales y como clave de la caché
+// de cada listado. Los servicios la incrementan en cada escritura que cambia el listado.
+@Service
+@RequiredArgsConstructor
+public class VersionCatalogoService {
+    
+    public enum Agregado {
+        SERVICIOS, PLANES, CATEGORIAS
+    }
+    
+    private final VersionCatalogoRepository versionRepository;
+    
+    // Crea la fila de cada agregado que todavía no la tenga
+    @Transactional
+    public void inicializar() {
+        for (Agregado agregado : Agregado.values()) {
+            if (!versionRepository.existsById(agregado.name())) {
+                versionRepository.save(VersionCatalogo.builder()
+                        .agregado(agregado.name())
+                        .version(0L)
+                        .build());
+            }
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public long version(Agregado agregado) {
+        return versionRepository.findById(agregado.name())
+                .map(VersionCatalogo::getVersion)
+                .orElse(0L);
+    }
+    
+    public String etag(Agregado agregado, long version) {
+        return "\"" + agregado.name().toLowerCase() + "-" + version + "\"";
+    }
+    
+    // Se une a la transacción que escribe: la versión nueva se confirma (o se revierte) con los datos, así
+    // que ningún nodo ve la versión nueva con los datos anteriores. Los servicios sin transacción propia
+    // llaman después de guardar; en ese intervalo solo se puede entregar el dato nuevo con la versión vieja.
+    @Transactional
+    public void incrementar(Agregado... agregados) {
+        List<String> nombres = Arrays.stream(agregados)
+                .map(Agregado::name)
+                .distinct()
+                .collect(Collectors.toList());
+        if (versionRepository.incrementar(nombres) < nombres.size()) {
+            // Falta alguna fila (base de datos nueva): se crean y se vuelve a incrementar
+            inicializar();
+            versionRepository.incrementar(nombres);
+        }
+    }
+}
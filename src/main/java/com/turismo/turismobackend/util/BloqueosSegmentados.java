@@ -0,0 +1,38 @@
+package com.turismo.turismobackend.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Conjunto fijo de locks repartidos por hash de la clave: dos claves distintas casi nunca comparten lock,
+// así que las operaciones sobre claves no relacionadas no se serializan entre sí, y la memoria no crece
+// con la cantidad de claves.
+public class BloqueosSegmentados {
+    
+    private final ReentrantLock[] segmentos;
+    
+    public BloqueosSegmentados(int cantidad) {
+        // Potencia de dos para elegir el segmento con una máscara
+        int tamano = Integer.highestOneBit(Math.max(1, cantidad - 1)) << 1;
+        segmentos = new ReentrantLock[tamano];
+        for (int i = 0; i < tamano; i++) {
+            segmentos[i] = new ReentrantLock();
+        }
+    }
+    
+    public ReentrantLock segmento(Object clave) {
+        int hash = clave.hashCode();
+        hash ^= (hash >>> 16);
+        return segmentos[hash & (segmentos.length - 1)];
+    }
+    
+    // Devuelve el lock ya tomado, o null si no se pudo tomar en el tiempo indicado
+    public ReentrantLock bloquear(Object clave, long esperaMs) {
+        ReentrantLock lock = segmento(clave);
+        try {
+            return lock.tryLock(esperaMs, TimeUnit.MILLISECONDS) ? lock : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.turismo.turismobackend.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+// Escribe filas de una exportación directamente en la salida, una por línea (NDJSON o CSV),
+// sin acumular el resultado completo en memoria.
+public class ExportadorFilas {
+    
+    public enum Formato {
+        NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+        CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+        
+        private final String extension;
+        private final MediaType mediaType;
+        
+        Formato(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+        
+        public String getExtension() {
+            return extension;
+        }
+        
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+        
+        // Devuelve null si el formato no es válido
+        public static Formato desde(String nombre) {
+            for (Formato formato : values()) {
+                if (formato.extension.equalsIgnoreCase(nombre)) {
+                    return formato;
+                }
+            }
+            return null;
+        }
+    }
+    
+    private final Writer salida;
+    private final Formato formato;
+    private final ObjectMapper objectMapper;
+    private boolean encabezadoEscrito;
+    
+    public ExportadorFilas(OutputStream salida, Formato formato, ObjectMapper objectMapper) {
+        this.salida = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        this.formato = formato;
+        this.objectMapper = objectMapper;
+    }
+    
+    // Todas las filas deben tener las mismas columnas y en el mismo orden (el CSV toma el encabezado de la primera)
+    public void escribir(Map<String, Object> fila) throws IOException {
+        if (formato == Formato.NDJSON) {
+            salida.write(objectMapper.writeValueAsString(fila));
+            salida.write('\n');
+            return;
+        }
+        
+        if (!encabezadoEscrito) {
+            escribirLineaCsv(fila.keySet().toArray());
+            encabezadoEscrito = true;
+        }
+        escribirLineaCsv(fila.values().toArray());
+    }
+    
+    public void terminar() throws IOException {
+        salida.flush();
+    }
+    
+    private void escribirLineaCsv(Object[] valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                salida.write(',');
+            }
+            salida.write(escaparCsv(valores[i]));
+        }
+        salida.write("\r\n");
+    }
+    
+    private static String escaparCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,75 @@
+package com.turismo.turismobackend.util;
+
+public final class GeoUtils {
+    
+    public static final double RADIO_TIERRA_KM = 6371.0;
+    
+    // Kilómetros por grado de arco sobre la misma esfera que usa Haversine (~111.195): un valor mayor
+    // achicaría la caja envolvente y dejaría fuera puntos que sí están dentro del radio
+    public static final double KM_POR_GRADO = RADIO_TIERRA_KM * Math.PI / 180.0;
+    
+    private GeoUtils() {
+    }
+    
+    // Fórmula de Haversine para calcular distancia entre dos puntos
+    public static double calcularDistancia(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        
+        return RADIO_TIERRA_KM * c;
+    }
+    
+    // Matriz simétrica de distancias (km) entre todos los pares de puntos. Los radianes y cosenos de cada punto
+    // se calculan una sola vez y el bucle interno trabaja solo con arreglos primitivos, sin crear objetos.
+    public static double[][] calcularMatrizDistancias(double[] latitudes, double[] longitudes) {
+        int n = latitudes.length;
+        double[] latRad = new double[n];
+        double[] lngRad = new double[n];
+        double[] cosLat = new double[n];
+        for (int i = 0; i < n; i++) {
+            latRad[i] = Math.toRadians(latitudes[i]);
+            lngRad[i] = Math.toRadians(longitudes[i]);
+            cosLat[i] = Math.cos(latRad[i]);
+        }
+        
+        double[][] matriz = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            double[] fila = matriz[i];
+            for (int j = i + 1; j < n; j++) {
+                double senoLat = Math.sin((latRad[j] - latRad[i]) * 0.5);
+                double senoLng = Math.sin((lngRad[j] - lngRad[i]) * 0.5);
+                double a = senoLat * senoLat + cosLat[i] * cosLat[j] * senoLng * senoLng;
+                double distancia = 2 * RADIO_TIERRA_KM * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+                fila[j] = distancia;
+                matriz[j][i] = distancia;
+            }
+        }
+        return matriz;
+    }
+    
+    // Caja envolvente {latMin, latMax, lngMin, lngMax} que contiene el círculo de radio dado
+    public static double[] calcularCajaEnvolvente(double latitud, double longitud, double radioKm) {
+        double deltaLat = radioKm / KM_POR_GRADO;
+        double latMin = Math.max(-90.0, latitud - deltaLat);
+        double latMax = Math.min(90.0, latitud + deltaLat);
+        
+        // Cerca de los polos o si la caja cruza el antimeridiano se usa todo el rango de longitudes
+        double cosLat = Math.cos(Math.toRadians(Math.max(Math.abs(latMin), Math.abs(latMax))));
+        if (latMin <= -90.0 || latMax >= 90.0 || cosLat <= 1e-6) {
+            return new double[] { latMin, latMax, -180.0, 180.0 };
+        }
+        
+        double deltaLng = radioKm / (KM_POR_GRADO * cosLat);
+        double lngMin = longitud - deltaLng;
+        double lngMax = longitud + deltaLng;
+        if (lngMin < -180.0 || lngMax > 180.0) {
+            return new double[] { latMin, latMax, -180.0, 180.0 };
+        }
+        
+        return new double[] { latMin, latMax, lngMin, lngMax };
+    }
+}
@@ -0,0 +1,244 @@
+package com.turismo.turismobackend.util;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice en memoria de coordenadas basado en una rejilla de celdas de tamaño fijo (en grados).
+// Las búsquedas por radio solo revisan las celdas que cubren la caja envolvente del círculo.
+public class IndiceEspacial {
+    
+    private final double tamanoCelda;
+    
+    // Número de columnas que cubren los 360 grados de longitud (las columnas dan la vuelta en el antimeridiano)
+    private final int columnas;
+    
+    private final Map<Long, double[]> puntos = new HashMap<>();
+    
+    private final Map<Long, Set<Long>> celdas = new HashMap<>();
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    public IndiceEspacial(double tamanoCelda) {
+        this.columnas = (int) Math.max(1, Math.round(360.0 / tamanoCelda));
+        this.tamanoCelda = 360.0 / columnas;
+    }
+    
+    public void actualizar(Long id, Double latitud, Double longitud) {
+        lock.writeLock().lock();
+        try {
+            quitar(id);
+            if (latitud == null || longitud == null ||
+                latitud < -90 || latitud > 90 || longitud < -180 || longitud > 180) {
+                return;
+            }
+            puntos.put(id, new double[] { latitud, longitud });
+            celdas.computeIfAbsent(claveCelda(fila(latitud), columna(longitud)), k -> new HashSet<>()).add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void eliminar(Long id) {
+        lock.writeLock().lock();
+        try {
+            quitar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int tamano() {
+        lock.readLock().lock();
+        try {
+            return puntos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Devuelve los IDs (ordenados) de los puntos a una distancia menor o igual a radioKm
+    public List<Long> buscarEnRadio(double latitud, double longitud, double radioKm) {
+        double[] caja = GeoUtils.calcularCajaEnvolvente(latitud, longitud, radioKm);
+        int filaMin = fila(caja[0]);
+        int filaMax = fila(caja[1]);
+        int colMin = columna(caja[2]);
+        int colMax = Math.min(columna(caja[3]), colMin + columnas - 1);
+        long numeroCeldas = (long) (filaMax - filaMin + 1) * (colMax - colMin + 1);
+        
+        List<Long> resultado = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (numeroCeldas > celdas.size()) {
+                // El radio cubre más celdas de las que están ocupadas: recorrer los puntos directamente
+                for (Map.Entry<Long, double[]> punto : puntos.entrySet()) {
+                    agregarSiEstaEnRadio(resultado, punto.getKey(), punto.getValue(), latitud, longitud, radioKm);
+                }
+            } else {
+                for (int f = filaMin; f <= filaMax; f++) {
+                    for (int c = colMin; c <= colMax; c++) {
+                        Set<Long> ids = celdas.get(claveCelda(f, c));
+                        if (ids == null) {
+                            continue;
+                        }
+                        for (Long id : ids) {
+                            agregarSiEstaEnRadio(resultado, id, puntos.get(id), latitud, longitud, radioKm);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        Collections.sort(resultado);
+        return resultado;
+    }
+    
+    // Búsqueda best-first de los k puntos más cercanos: recorre anillos de celdas alrededor de la celda
+    // central y se detiene cuando ningún anillo pendiente puede contener un punto más cercano que el k-ésimo
+    public List<Vecino> buscarMasCercanos(double latitud, double longitud, int k) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        
+        PriorityQueue<Vecino> mejores = new PriorityQueue<>(
+                Comparator.comparingDouble(Vecino::getDistanciaKm).reversed());
+        
+        lock.readLock().lock();
+        try {
+            if (k >= puntos.size()) {
+                for (Map.Entry<Long, double[]> punto : puntos.entrySet()) {
+                    ofrecer(mejores, k, punto.getKey(), punto.getValue(), latitud, longitud);
+                }
+                return ordenarPorDistancia(mejores);
+            }
+            
+            int filaCentro = fila(latitud);
+            int colCentro = columna(longitud);
+            int puntosRevisados = 0;
+            
+            for (int anillo = 0; ; anillo++) {
+                long celdasRecorridas = (long) (2 * anillo + 1) * (2 * anillo + 1);
+                if (celdasRecorridas > 4L * celdas.size() || 2 * anillo + 1 > columnas) {
+                    // Los puntos están demasiado dispersos para la rejilla: revisar todos directamente
+                    mejores.clear();
+                    for (Map.Entry<Long, double[]> punto : puntos.entrySet()) {
+                        ofrecer(mejores, k, punto.getKey(), punto.getValue(), latitud, longitud);
+                    }
+                    break;
+                }
+                
+                puntosRevisados += revisarAnillo(mejores, k, filaCentro, colCentro, anillo, latitud, longitud);
+                
+                if (puntosRevisados >= puntos.size()) {
+                    break;
+                }
+                if (mejores.size() == k && mejores.peek().getDistanciaKm() <= distanciaMinimaFueraDe(anillo, latitud)) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        return ordenarPorDistancia(mejores);
+    }
+    
+    private int revisarAnillo(PriorityQueue<Vecino> mejores, int k, int filaCentro, int colCentro, int anillo,
+                              double latitud, double longitud) {
+        int revisados = 0;
+        for (int f = filaCentro - anillo; f <= filaCentro + anillo; f++) {
+            boolean bordeHorizontal = f == filaCentro - anillo || f == filaCentro + anillo;
+            int paso = bordeHorizontal || anillo == 0 ? 1 : 2 * anillo;
+            for (int c = colCentro - anillo; c <= colCentro + anillo; c += paso) {
+                Set<Long> ids = celdas.get(claveCelda(f, c));
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    ofrecer(mejores, k, id, puntos.get(id), latitud, longitud);
+                    revisados++;
+                }
+            }
+        }
+        return revisados;
+    }
+    
+    // Cota inferior (Haversine) de la distancia a cualquier punto situado fuera de los anillos ya revisados
+    private double distanciaMinimaFueraDe(int anillo, double latitud) {
+        double delta = Math.toRadians(anillo * tamanoCelda);
+        double latMaxima = Math.min(90.0, Math.abs(latitud) + (anillo + 1) * tamanoCelda);
+        double cosLat = Math.cos(Math.toRadians(latMaxima));
+        
+        double porLatitud = GeoUtils.RADIO_TIERRA_KM * delta;
+        double porLongitud = 2 * GeoUtils.RADIO_TIERRA_KM * Math.asin(Math.min(1.0, cosLat * Math.sin(delta / 2)));
+        return Math.min(porLatitud, porLongitud);
+    }
+    
+    private void ofrecer(PriorityQueue<Vecino> mejores, int k, Long id, double[] punto,
+                         double latitud, double longitud) {
+        double distancia = GeoUtils.calcularDistancia(latitud, longitud, punto[0], punto[1]);
+        if (mejores.size() < k) {
+            mejores.add(new Vecino(id, distancia));
+        } else if (distancia < mejores.peek().getDistanciaKm()) {
+            mejores.poll();
+            mejores.add(new Vecino(id, distancia));
+        }
+    }
+    
+    private List<Vecino> ordenarPorDistancia(PriorityQueue<Vecino> mejores) {
+        List<Vecino> resultado = new ArrayList<>(mejores);
+        resultado.sort(Comparator.comparingDouble(Vecino::getDistanciaKm));
+        return resultado;
+    }
+    
+    private void agregarSiEstaEnRadio(List<Long> resultado, Long id, double[] punto,
+                                      double latitud, double longitud, double radioKm) {
+        if (GeoUtils.calcularDistancia(latitud, longitud, punto[0], punto[1]) <= radioKm) {
+            resultado.add(id);
+        }
+    }
+    
+    private void quitar(Long id) {
+        double[] anterior = puntos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        long clave = claveCelda(fila(anterior[0]), columna(anterior[1]));
+        Set<Long> ids = celdas.get(clave);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                celdas.remove(clave);
+            }
+        }
+    }
+    
+    private int fila(double latitud) {
+        return (int) Math.floor(latitud / tamanoCelda);
+    }
+    
+    private int columna(double longitud) {
+        return (int) Math.floor(longitud / tamanoCelda);
+    }
+    
+    private long claveCelda(int fila, int columna) {
+        return ((long) fila << 32) | (Math.floorMod(columna, columnas) & 0xffffffffL);
+    }
+    
+    @Value
+    public static class Vecino {
+        Long id;
+        double distanciaKm;
+    }
+}
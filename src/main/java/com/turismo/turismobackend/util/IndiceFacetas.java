@@ -0,0 +1,204 @@
+package com.turismo.turismobackend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice de facetas en memoria con un mapa de bits por cada valor de faceta (p. ej. tipo=TOUR).
+// Cada documento ocupa una posición fija; filtrar es intersectar mapas de bits y los conteos por valor
+// son cardinalidades de intersecciones, sin consultas a la base de datos.
+public class IndiceFacetas {
+    
+    // faceta -> valor -> documentos con ese valor
+    private final Map<String, Map<String, BitSet>> bitmaps = new HashMap<>();
+    
+    private final Map<Long, Integer> posiciones = new HashMap<>();
+    private final List<Long> ids = new ArrayList<>();
+    private final List<Integer> posicionesLibres = new ArrayList<>();
+    
+    // Facetas y precio de cada posición, para poder retirar el documento de sus mapas de bits
+    private final Map<Integer, Map<String, String>> facetasPorPosicion = new HashMap<>();
+    private double[] precios = new double[64];
+    
+    private final BitSet vivos = new BitSet();
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    public void actualizar(Long id, Map<String, String> facetas, double precio) {
+        lock.writeLock().lock();
+        try {
+            Integer posicion = posiciones.get(id);
+            if (posicion != null) {
+                quitarDeBitmaps(posicion);
+            } else {
+                posicion = posicionesLibres.isEmpty() ? ids.size() : posicionesLibres.remove(posicionesLibres.size() - 1);
+                if (posicion == ids.size()) {
+                    ids.add(id);
+                } else {
+                    ids.set(posicion, id);
+                }
+                posiciones.put(id, posicion);
+            }
+            
+            if (posicion >= precios.length) {
+                precios = Arrays.copyOf(precios, Math.max(precios.length * 2, posicion + 1));
+            }
+            precios[posicion] = precio;
+            vivos.set(posicion);
+            
+            Map<String, String> copia = new HashMap<>();
+            for (Map.Entry<String, String> faceta : facetas.entrySet()) {
+                if (faceta.getValue() != null) {
+                    copia.put(faceta.getKey(), faceta.getValue());
+                    bitmaps.computeIfAbsent(faceta.getKey(), k -> new HashMap<>())
+                            .computeIfAbsent(faceta.getValue(), k -> new BitSet())
+                            .set(posicion);
+                }
+            }
+            facetasPorPosicion.put(posicion, copia);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void eliminar(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer posicion = posiciones.remove(id);
+            if (posicion == null) {
+                return;
+            }
+            quitarDeBitmaps(posicion);
+            vivos.clear(posicion);
+            ids.set(posicion, null);
+            posicionesLibres.add(posicion);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Filtra por los valores indicados (faceta -> valor) y el rango de precio (extremos opcionales).
+    // El conteo de cada faceta se calcula aplicando todos los filtros menos el de la propia faceta,
+    // para que el cliente vea cuántos resultados obtendría al cambiar ese valor.
+    public Resultado buscar(Map<String, String> filtros, Double precioMin, Double precioMax) {
+        lock.readLock().lock();
+        try {
+            BitSet porPrecio = filtrarPorPrecio(precioMin, precioMax);
+            
+            BitSet coincidencias = (BitSet) porPrecio.clone();
+            for (Map.Entry<String, String> filtro : filtros.entrySet()) {
+                coincidencias.and(bitmap(filtro.getKey(), filtro.getValue()));
+            }
+            
+            Map<String, Map<String, Integer>> conteos = new TreeMap<>();
+            for (Map.Entry<String, Map<String, BitSet>> faceta : bitmaps.entrySet()) {
+                BitSet base = (BitSet) porPrecio.clone();
+                for (Map.Entry<String, String> filtro : filtros.entrySet()) {
+                    if (!filtro.getKey().equals(faceta.getKey())) {
+                        base.and(bitmap(filtro.getKey(), filtro.getValue()));
+                    }
+                }
+                
+                Map<String, Integer> porValor = new TreeMap<>();
+                for (Map.Entry<String, BitSet> valor : faceta.getValue().entrySet()) {
+                    BitSet interseccion = (BitSet) base.clone();
+                    interseccion.and(valor.getValue());
+                    int cantidad = interseccion.cardinality();
+                    if (cantidad > 0) {
+                        porValor.put(valor.getKey(), cantidad);
+                    }
+                }
+                conteos.put(faceta.getKey(), porValor);
+            }
+            
+            List<Long> encontrados = new ArrayList<>(coincidencias.cardinality());
+            double minimo = Double.MAX_VALUE;
+            double maximo = -Double.MAX_VALUE;
+            for (int i = coincidencias.nextSetBit(0); i >= 0; i = coincidencias.nextSetBit(i + 1)) {
+                encontrados.add(ids.get(i));
+                minimo = Math.min(minimo, precios[i]);
+                maximo = Math.max(maximo, precios[i]);
+            }
+            encontrados.sort(Long::compare);
+            
+            return new Resultado(encontrados, conteos,
+                    encontrados.isEmpty() ? null : minimo,
+                    encontrados.isEmpty() ? null : maximo);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private BitSet filtrarPorPrecio(Double precioMin, Double precioMax) {
+        if (precioMin == null && precioMax == null) {
+            return (BitSet) vivos.clone();
+        }
+        double minimo = precioMin != null ? precioMin : -Double.MAX_VALUE;
+        double maximo = precioMax != null ? precioMax : Double.MAX_VALUE;
+        BitSet resultado = new BitSet(ids.size());
+        for (int i = vivos.nextSetBit(0); i >= 0; i = vivos.nextSetBit(i + 1)) {
+            if (precios[i] >= minimo && precios[i] <= maximo) {
+                resultado.set(i);
+            }
+        }
+        return resultado;
+    }
+    
+    private BitSet bitmap(String faceta, String valor) {
+        Map<String, BitSet> valores = bitmaps.get(faceta);
+        BitSet bits = valores != null ? valores.get(valor) : null;
+        return bits != null ? bits : new BitSet();
+    }
+    
+    private void quitarDeBitmaps(int posicion) {
+        Map<String, String> anteriores = facetasPorPosicion.remove(posicion);
+        if (anteriores == null) {
+            return;
+        }
+        for (Map.Entry<String, String> faceta : anteriores.entrySet()) {
+            Map<String, BitSet> valores = bitmaps.get(faceta.getKey());
+            BitSet bits = valores.get(faceta.getValue());
+            bits.clear(posicion);
+            if (bits.isEmpty()) {
+                valores.remove(faceta.getValue());
+            }
+        }
+    }
+    
+    public static final class Resultado {
+        private final List<Long> ids;
+        private final Map<String, Map<String, Integer>> conteos;
+        private final Double precioMinimo;
+        private final Double precioMaximo;
+        
+        private Resultado(List<Long> ids, Map<String, Map<String, Integer>> conteos,
+                          Double precioMinimo, Double precioMaximo) {
+            this.ids = ids;
+            this.conteos = conteos;
+            this.precioMinimo = precioMinimo;
+            this.precioMaximo = precioMaximo;
+        }
+        
+        // Ids de los documentos que cumplen todos los filtros, en orden ascendente
+        public List<Long> getIds() {
+            return ids;
+        }
+        
+        public Map<String, Map<String, Integer>> getConteos() {
+            return conteos;
+        }
+        
+        public Double getPrecioMinimo() {
+            return precioMinimo;
+        }
+        
+        public Double getPrecioMaximo() {
+            return precioMaximo;
+        }
+    }
+}
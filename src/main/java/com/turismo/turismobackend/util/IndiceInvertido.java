@@ -0,0 +1,232 @@
+package com.turismo.turismobackend.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice invertido en memoria: término normalizado -> (id de documento -> frecuencia del término).
+// El vocabulario está ordenado para poder resolver prefijos ("cusc" encuentra "cusco") sin recorrer documentos.
+// Los resultados se ordenan por relevancia BM25. Un término de la consulta que no aparece en el vocabulario
+// se corrige con los términos más parecidos (tolerancia a errores de tipeo).
+public class IndiceInvertido {
+    
+    // Los términos de consulta más cortos solo se buscan de forma exacta, para no expandir a medio vocabulario
+    private static final int LONGITUD_MINIMA_PREFIJO = 3;
+    
+    // Cada aparición en el nombre cuenta como varias apariciones en el resto de campos
+    private static final int PESO_NOMBRE = 3;
+    
+    // Una coincidencia solo por prefijo puntúa menos que la palabra exacta
+    private static final double PESO_PREFIJO = 0.5;
+    
+    // Y una coincidencia aproximada (corregida) menos aún
+    private static final double PESO_APROXIMADO = 0.4;
+    
+    // Los términos más cortos no se corrigen: con una edición se parecen a demasiadas palabras
+    private static final int LONGITUD_MINIMA_APROXIMADA = 4;
+    
+    // Parámetros habituales de BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    
+    // Trigramas del vocabulario, para la búsqueda aproximada
+    private final IndiceTrigramas trigramas = new IndiceTrigramas();
+    
+    // Términos de cada documento, necesarios para retirarlo del índice al actualizarlo o eliminarlo
+    private final Map<Long, Map<String, Integer>> terminosPorDocumento = new HashMap<>();
+    
+    // Longitud (ponderada) de cada documento y su suma, para normalizar por longitud en BM25
+    private final Map<Long, Integer> longitudPorDocumento = new HashMap<>();
+    private long longitudTotal;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    public void actualizar(Long id, String nombre, String... campos) {
+        Map<String, Integer> frecuencias = new HashMap<>();
+        int longitud = 0;
+        for (String termino : NormalizadorTexto.tokenizar(nombre)) {
+            frecuencias.merge(termino, PESO_NOMBRE, Integer::sum);
+            longitud += PESO_NOMBRE;
+        }
+        for (String campo : campos) {
+            for (String termino : NormalizadorTexto.tokenizar(campo)) {
+                frecuencias.merge(termino, 1, Integer::sum);
+                longitud++;
+            }
+        }
+        
+        lock.writeLock().lock();
+        try {
+            quitar(id);
+            if (frecuencias.isEmpty()) {
+                return;
+            }
+            terminosPorDocumento.put(id, frecuencias);
+            longitudPorDocumento.put(id, longitud);
+            longitudTotal += longitud;
+            for (Map.Entry<String, Integer> entrada : frecuencias.entrySet()) {
+                Map<Long, Integer> lista = postings.get(entrada.getKey());
+                if (lista == null) {
+                    lista = new HashMap<>();
+                    postings.put(entrada.getKey(), lista);
+                    trigramas.agregar(entrada.getKey());
+                }
+                lista.put(id, entrada.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void eliminar(Long id) {
+        lock.writeLock().lock();
+        try {
+            quitar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int tamano() {
+        lock.readLock().lock();
+        try {
+            return terminosPorDocumento.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Ids de los documentos que contienen todos los términos de la consulta (exactos o como prefijo),
+    // los "limite" de mayor puntaje BM25 y ordenados de más a menos relevante
+    public List<Long> buscar(String consulta, int limite) {
+        List<String> terminos = NormalizadorTexto.tokenizar(consulta);
+        if (terminos.isEmpty() || limite <= 0) {
+            return new ArrayList<>();
+        }
+        
+        lock.readLock().lock();
+        try {
+            double longitudPromedio = terminosPorDocumento.isEmpty()
+                    ? 1.0 : (double) longitudTotal / terminosPorDocumento.size();
+            
+            Map<Long, Double> puntajes = null;
+            for (String termino : terminos) {
+                Map<Long, Double> coincidencias = puntuarTermino(termino, longitudPromedio);
+                if (puntajes == null) {
+                    puntajes = coincidencias;
+                } else {
+                    // Intersección: solo siguen los documentos que también contienen este término
+                    Map<Long, Double> interseccion = new HashMap<>();
+                    for (Map.Entry<Long, Double> entrada : puntajes.entrySet()) {
+                        Double puntaje = coincidencias.get(entrada.getKey());
+                        if (puntaje != null) {
+                            interseccion.put(entrada.getKey(), entrada.getValue() + puntaje);
+                        }
+                    }
+                    puntajes = interseccion;
+                }
+                if (puntajes.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+            
+            return mejores(puntajes, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Puntaje BM25 de un término de la consulta en cada documento que lo contiene
+    private Map<Long, Double> puntuarTermino(String termino, double longitudPromedio) {
+        Map<Long, Double> puntajes = new HashMap<>();
+        Map<String, Map<Long, Integer>> expansion = termino.length() < LONGITUD_MINIMA_PREFIJO
+                ? (postings.containsKey(termino) ? Map.of(termino, postings.get(termino)) : Map.of())
+                : postings.subMap(termino, termino + Character.MAX_VALUE);
+        
+        double pesoExpansion = PESO_PREFIJO;
+        if (expansion.isEmpty() && termino.length() >= LONGITUD_MINIMA_APROXIMADA) {
+            // Sin coincidencias exactas ni por prefijo: se usan los términos del vocabulario más parecidos
+            expansion = terminosAproximados(termino);
+            pesoExpansion = PESO_APROXIMADO;
+        }
+        
+        int totalDocumentos = terminosPorDocumento.size();
+        for (Map.Entry<String, Map<Long, Integer>> entrada : expansion.entrySet()) {
+            Map<Long, Integer> lista = entrada.getValue();
+            double idf = Math.log(1.0 + (totalDocumentos - lista.size() + 0.5) / (lista.size() + 0.5));
+            double peso = entrada.getKey().equals(termino) ? 1.0 : pesoExpansion;
+            
+            for (Map.Entry<Long, Integer> documento : lista.entrySet()) {
+                double frecuencia = documento.getValue();
+                double normalizacion = 1 - B + B * longitudPorDocumento.get(documento.getKey()) / longitudPromedio;
+                double puntaje = peso * idf * frecuencia * (K1 + 1) / (frecuencia + K1 * normalizacion);
+                puntajes.merge(documento.getKey(), puntaje, Double::sum);
+            }
+        }
+        return puntajes;
+    }
+    
+    // Términos a la menor distancia de edición encontrada: 1 para palabras de hasta 7 letras, 2 para las más largas
+    private Map<String, Map<Long, Integer>> terminosAproximados(String termino) {
+        int maximo = termino.length() <= 7 ? 1 : 2;
+        Map<String, Integer> parecidos = trigramas.buscarParecidos(termino, maximo);
+        int mejorDistancia = parecidos.values().stream().min(Integer::compare).orElse(0);
+        
+        Map<String, Map<Long, Integer>> expansion = new HashMap<>();
+        for (Map.Entry<String, Integer> parecido : parecidos.entrySet()) {
+            if (parecido.getValue() == mejorDistancia) {
+                expansion.put(parecido.getKey(), postings.get(parecido.getKey()));
+            }
+        }
+        return expansion;
+    }
+    
+    // Selección de los mejores con un montículo de tamaño "limite", sin ordenar todos los candidatos
+    private static List<Long> mejores(Map<Long, Double> puntajes, int limite) {
+        Comparator<Map.Entry<Long, Double>> relevancia = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Long, Double>> monticulo = new PriorityQueue<>(relevancia);
+        
+        for (Map.Entry<Long, Double> entrada : puntajes.entrySet()) {
+            if (monticulo.size() < limite) {
+                monticulo.offer(entrada);
+            } else if (relevancia.compare(entrada, monticulo.peek()) > 0) {
+                monticulo.poll();
+                monticulo.offer(entrada);
+            }
+        }
+        
+        List<Long> ids = new ArrayList<>(monticulo.size());
+        while (!monticulo.isEmpty()) {
+            ids.add(monticulo.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+    
+    private void quitar(Long id) {
+        Map<String, Integer> anteriores = terminosPorDocumento.remove(id);
+        if (anteriores == null) {
+            return;
+        }
+        longitudTotal -= longitudPorDocumento.remove(id);
+        for (String termino : anteriores.keySet()) {
+            Map<Long, Integer> lista = postings.get(termino);
+            if (lista != null) {
+                lista.remove(id);
+                if (lista.isEmpty()) {
+                    postings.remove(termino);
+                    trigramas.quitar(termino);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.turismo.turismobackend.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Índice de trigramas sobre un vocabulario de términos ya normalizados, para encontrar términos parecidos
+// a uno mal escrito ("arequippa" -> "arequipa", "pichu" -> "picchu"). Los trigramas compartidos descartan
+// casi todo el vocabulario y solo los candidatos restantes se comparan con la distancia de edición.
+// No es seguro para hilos: lo protege el lock del índice que lo contiene.
+class IndiceTrigramas {
+    
+    private final Map<String, Set<String>> terminosPorTrigrama = new HashMap<>();
+    
+    void agregar(String termino) {
+        for (String trigrama : trigramas(termino)) {
+            terminosPorTrigrama.computeIfAbsent(trigrama, k -> new HashSet<>()).add(termino);
+        }
+    }
+    
+    void quitar(String termino) {
+        for (String trigrama : trigramas(termino)) {
+            Set<String> terminos = terminosPorTrigrama.get(trigrama);
+            if (terminos != null) {
+                terminos.remove(termino);
+                if (terminos.isEmpty()) {
+                    terminosPorTrigrama.remove(trigrama);
+                }
+            }
+        }
+    }
+    
+    // Términos del vocabulario a distancia de edición <= maximo del término buscado (sin incluirlo)
+    Map<String, Integer> buscarParecidos(String termino, int maximo) {
+        Map<String, Integer> compartidos = new HashMap<>();
+        List<String> propios = trigramas(termino);
+        for (String trigrama : propios) {
+            Set<String> terminos = terminosPorTrigrama.get(trigrama);
+            if (terminos != null) {
+                for (String candidato : terminos) {
+                    compartidos.merge(candidato, 1, Integer::sum);
+                }
+            }
+        }
+        
+        // Una inserción, borrado o sustitución altera como mucho 3 trigramas y una transposición de
+        // vecinos hasta 4 ("cusco" -> "csuco" solo conserva "co$")
+        int minimoCompartidos = Math.max(1, propios.size() - 4 * maximo);
+        Map<String, Integer> parecidos = new HashMap<>();
+        for (Map.Entry<String, Integer> candidato : compartidos.entrySet()) {
+            String otro = candidato.getKey();
+            if (candidato.getValue() < minimoCompartidos || otro.equals(termino)
+                    || Math.abs(otro.length() - termino.length()) > maximo) {
+                continue;
+            }
+            int distancia = distanciaEdicion(termino, otro, maximo);
+            if (distancia <= maximo) {
+                parecidos.put(otro, distancia);
+            }
+        }
+        return parecidos;
+    }
+    
+    // Trigramas del término con un marcador de inicio y fin, p. ej. "sol" -> "$so", "sol", "ol$"
+    private static List<String> trigramas(String termino) {
+        String marcado = "$" + termino + "$";
+        List<String> resultado = new ArrayList<>(Math.max(0, marcado.length() - 2));
+        for (int i = 0; i + 3 <= marcado.length(); i++) {
+            resultado.add(marcado.substring(i, i + 3));
+        }
+        return resultado;
+    }
+    
+    // Distancia de Damerau-Levenshtein restringida (inserción, borrado, sustitución y transposición de
+    // caracteres vecinos). Corta en cuanto la distancia supera el máximo y devuelve maximo + 1.
+    static int distanciaEdicion(String a, String b, int maximo) {
+        int n = a.length();
+        int m = b.length();
+        int[] anterior2 = new int[m + 1];
+        int[] anterior = new int[m + 1];
+        int[] actual = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            anterior[j] = j;
+        }
+        
+        for (int i = 1; i <= n; i++) {
+            actual[0] = i;
+            int minimoFila = actual[0];
+            for (int j = 1; j <= m; j++) {
+                int costo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int valor = Math.min(Math.min(anterior[j] + 1, actual[j - 1] + 1), anterior[j - 1] + costo);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    valor = Math.min(valor, anterior2[j - 2] + 1);
+                }
+                actual[j] = valor;
+                minimoFila = Math.min(minimoFila, valor);
+            }
+            if (minimoFila > maximo) {
+                return maximo + 1;
+            }
+            int[] temporal = anterior2;
+            anterior2 = anterior;
+            anterior = actual;
+            actual = temporal;
+        }
+        return anterior[m];
+    }
+}
@@ -0,0 +1,45 @@
+package com.turismo.turismobackend.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Normalización de textos en español para las búsquedas: minúsculas, sin tildes ni diéresis
+// y sin palabras vacías ("de", "la", "con", ...).
+public final class NormalizadorTexto {
+    
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+    
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+            "a", "al", "ante", "con", "contra", "de", "del", "desde", "e", "el", "en", "entre", "es",
+            "hacia", "hasta", "la", "las", "le", "les", "lo", "los", "mas", "o", "para", "pero", "por",
+            "que", "se", "sin", "sobre", "su", "sus", "tras", "u", "un", "una", "unas", "unos", "y", "ya");
+    
+    private NormalizadorTexto() {
+    }
+    
+    // "Excursión al Cañón" -> "excursion al canon"
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return MARCAS_DIACRITICAS.matcher(descompuesto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+    
+    // Términos normalizados del texto, sin palabras vacías, en el orden en que aparecen
+    public static List<String> tokenizar(String texto) {
+        List<String> terminos = new ArrayList<>();
+        for (String termino : SEPARADORES.split(normalizar(texto))) {
+            if (!termino.isEmpty() && !PALABRAS_VACIAS.contains(termino)) {
+                terminos.add(termino);
+            }
+        }
+        return terminos;
+    }
+}
@@ -0,0 +1,273 @@
+package com.turismo.turismobackend.util;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Propone el orden de visita de las paradas de un día minimizando la distancia recorrida (ruta abierta):
+// vecino más cercano desde cada posible inicio y luego mejoras 2-opt y or-opt. Las paradas con hora (inicio o fin)
+// mantienen entre sí el orden cronológico; las paradas sin hora se ubican libremente entre ellas.
+public final class OptimizadorRuta {
+    
+    private OptimizadorRuta() {
+    }
+    
+    // Devuelve los índices de las paradas en el orden propuesto. Si alguna parada no tiene coordenadas
+    // válidas no hay información suficiente para optimizar y se mantiene el orden recibido.
+    public static int[] optimizar(List<Parada> paradas) {
+        int n = paradas.size();
+        int[] original = new int[n];
+        for (int i = 0; i < n; i++) {
+            original[i] = i;
+        }
+        if (n < 2) {
+            return original;
+        }
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            Parada parada = paradas.get(i);
+            if (parada.latitud == null || parada.longitud == null) {
+                return original;
+            }
+            latitudes[i] = parada.latitud;
+            longitudes[i] = parada.longitud;
+        }
+        double[][] distancias = GeoUtils.calcularMatrizDistancias(latitudes, longitudes);
+        
+        // Rango cronológico de cada parada con hora (-1 si no tiene): las de menor rango van antes
+        int[] rango = calcularRangos(paradas);
+        
+        int[] mejor = null;
+        double mejorCosto = Double.MAX_VALUE;
+        for (int inicio = 0; inicio < n; inicio++) {
+            int[] ruta = vecinoMasCercano(inicio, distancias, rango);
+            if (ruta == null) {
+                continue;
+            }
+            double costo = costo(ruta, distancias);
+            if (costo < mejorCosto) {
+                mejorCosto = costo;
+                mejor = ruta;
+            }
+        }
+        
+        // Cada movimiento solo se aplica si acorta la ruta, así que el ciclo termina
+        do {
+            dosOpt(mejor, distancias, rango);
+        } while (reubicar(mejor, distancias, rango));
+        return mejor;
+    }
+    
+    private static int[] vecinoMasCercano(int inicio, double[][] distancias, int[] rango) {
+        int n = rango.length;
+        int siguienteRango = 0;
+        if (rango[inicio] > siguienteRango) {
+            return null;
+        }
+        
+        boolean[] visitada = new boolean[n];
+        int[] ruta = new int[n];
+        ruta[0] = inicio;
+        visitada[inicio] = true;
+        if (rango[inicio] >= 0) {
+            siguienteRango++;
+        }
+        
+        for (int paso = 1; paso < n; paso++) {
+            int actual = ruta[paso - 1];
+            int elegida = -1;
+            for (int j = 0; j < n; j++) {
+                // Solo se puede visitar una parada con hora cuando es la siguiente en el orden cronológico
+                if (visitada[j] || (rango[j] >= 0 && rango[j] != siguienteRango)) {
+                    continue;
+                }
+                if (elegida < 0 || distancias[actual][j] < distancias[actual][elegida]) {
+                    elegida = j;
+                }
+            }
+            ruta[paso] = elegida;
+            visitada[elegida] = true;
+            if (rango[elegida] >= 0) {
+                siguienteRango++;
+            }
+        }
+        return ruta;
+    }
+    
+    // Invierte tramos de la ruta mientras se reduzca la distancia total. Un tramo con más de una parada con hora
+    // no se invierte porque rompería el orden cronológico.
+    private static void dosOpt(int[] ruta, double[][] distancias, int[] rango) {
+        int n = ruta.length;
+        boolean mejorado = true;
+        while (mejorado) {
+            mejorado = false;
+            for (int i = 0; i < n - 1; i++) {
+                int conHora = 0;
+                for (int k = i; k < n; k++) {
+                    if (rango[ruta[k]] >= 0) {
+                        conHora++;
+                    }
+                    if (conHora > 1) {
+                        break;
+                    }
+                    if (k == i) {
+                        continue;
+                    }
+                    // Costo de las aristas que cambian al invertir ruta[i..k]
+                    double antes = (i > 0 ? distancias[ruta[i - 1]][ruta[i]] : 0)
+                            + (k < n - 1 ? distancias[ruta[k]][ruta[k + 1]] : 0);
+                    double despues = (i > 0 ? distancias[ruta[i - 1]][ruta[k]] : 0)
+                            + (k < n - 1 ? distancias[ruta[i]][ruta[k + 1]] : 0);
+                    if (despues < antes - 1e-9) {
+                        invertir(ruta, i, k);
+                        mejorado = true;
+                    }
+                }
+            }
+        }
+    }
+    
+    // Mueve un tramo de 1 a 3 paradas a otra posición de la ruta (or-opt) y devuelve true si encontró uno que
+    // acorte la ruta. Complementa a dosOpt: pasa una parada sin hora al otro lado de una con hora, algo que
+    // invertir tramos no puede hacer. Solo se acepta el movimiento si mantiene el orden cronológico.
+    private static boolean reubicar(int[] ruta, double[][] distancias, int[] rango) {
+        int n = ruta.length;
+        for (int largo = 1; largo <= Math.min(3, n - 1); largo++) {
+            for (int i = 0; i + largo <= n; i++) {
+                int fin = i + largo - 1;
+                int previa = i > 0 ? ruta[i - 1] : -1;
+                int siguiente = fin < n - 1 ? ruta[fin + 1] : -1;
+                double ahorro = arista(distancias, previa, ruta[i]) + arista(distancias, ruta[fin], siguiente)
+                        - arista(distancias, previa, siguiente);
+                // El tramo se inserta después de la parada en la posición j (j = -1: al inicio de la ruta)
+                for (int j = -1; j < n; j++) {
+                    if (j >= i - 1 && j <= fin) {
+                        continue;
+                    }
+                    int antes = j >= 0 ? ruta[j] : -1;
+                    int despues = j + 1 < n ? ruta[j + 1] : -1;
+                    double agregado = arista(distancias, antes, ruta[i]) + arista(distancias, ruta[fin], despues)
+                            - arista(distancias, antes, despues);
+                    if (agregado < ahorro - 1e-9) {
+                        int[] candidata = mover(ruta, i, fin, j);
+                        if (respetaOrdenCronologico(candidata, rango)) {
+                            System.arraycopy(candidata, 0, ruta, 0, n);
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+    
+    // Distancia entre dos paradas de la ruta; -1 representa el extremo abierto de la ruta
+    private static double arista(double[][] distancias, int desde, int hasta) {
+        return desde < 0 || hasta < 0 ? 0 : distancias[desde][hasta];
+    }
+    
+    private static int[] mover(int[] ruta, int desde, int hasta, int despuesDe) {
+        int[] resultado = new int[ruta.length];
+        int k = 0;
+        if (despuesDe < 0) {
+            for (int p = desde; p <= hasta; p++) {
+                resultado[k++] = ruta[p];
+            }
+        }
+        for (int p = 0; p < ruta.length; p++) {
+            if (p >= desde && p <= hasta) {
+                continue;
+            }
+            resultado[k++] = ruta[p];
+            if (p == despuesDe) {
+                for (int q = desde; q <= hasta; q++) {
+                    resultado[k++] = ruta[q];
+                }
+            }
+        }
+        return resultado;
+    }
+    
+    private static boolean respetaOrdenCronologico(int[] ruta, int[] rango) {
+        int ultimo = -1;
+        for (int parada : ruta) {
+            if (rango[parada] >= 0) {
+                if (rango[parada] < ultimo) {
+                    return false;
+                }
+                ultimo = rango[parada];
+            }
+        }
+        return true;
+    }
+    
+    private static void invertir(int[] ruta, int desde, int hasta) {
+        while (desde < hasta) {
+            int temporal = ruta[desde];
+            ruta[desde++] = ruta[hasta];
+            ruta[hasta--] = temporal;
+        }
+    }
+    
+    private static double costo(int[] ruta, double[][] distancias) {
+        double total = 0;
+        for (int i = 1; i < ruta.length; i++) {
+            total += distancias[ruta[i - 1]][ruta[i]];
+        }
+        return total;
+    }
+    
+    private static int[] calcularRangos(List<Parada> paradas) {
+        int n = paradas.size();
+        List<Integer> conHora = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (paradas.get(i).minutoReferencia() != null) {
+                conHora.add(i);
+            }
+        }
+        // Orden estable: a igual hora se respeta el orden recibido
+        conHora.sort((a, b) -> Integer.compare(paradas.get(a).minutoReferencia(), paradas.get(b).minutoReferencia()));
+        
+        int[] rango = new int[n];
+        Arrays.fill(rango, -1);
+        for (int r = 0; r < conHora.size(); r++) {
+            rango[conHora.get(r)] = r;
+        }
+        return rango;
+    }
+    
+    // Convierte "HH:mm" a minutos del día; devuelve null si la hora no viene o no es válida
+    static Integer aMinutos(String hora) {
+        if (hora == null || hora.isBlank()) {
+            return null;
+        }
+        try {
+            LocalTime tiempo = LocalTime.parse(hora.trim());
+            return tiempo.getHour() * 60 + tiempo.getMinute();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+    
+    public static final class Parada {
+        private final Double latitud;
+        private final Double longitud;
+        private final Integer minutoInicio;
+        private final Integer minutoFin;
+        
+        public Parada(Double latitud, Double longitud, String horaInicio, String horaFin) {
+            this.latitud = latitud;
+            this.longitud = longitud;
+            this.minutoInicio = aMinutos(horaInicio);
+            this.minutoFin = aMinutos(horaFin);
+        }
+        
+        // Hora usada para ordenar: el inicio de la ventana o, si solo se conoce, su fin
+        private Integer minutoReferencia() {
+            return minutoInicio != null ? minutoInicio : minutoFin;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.turismo.turismobackend.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Paginación por cursor (keyset): cada página pide los registros con id mayor al último entregado,
+// ordenados por id. Usa el índice de la clave primaria, así que ninguna página recorre las anteriores
+// como haría un OFFSET, y el servidor nunca arma más de una página en memoria.
+public final class Paginacion {
+    
+    public static final String CABECERA_CURSOR = "X-Siguiente-Cursor";
+    public static final int LIMITE_POR_DEFECTO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+    
+    private Paginacion() {
+    }
+    
+    public static boolean solicitada(Long after, Integer limit) {
+        return after != null || limit != null;
+    }
+    
+    public static long cursor(Long after) {
+        return after != null ? after : 0L;
+    }
+    
+    public static int limite(Integer limit) {
+        return limit != null ? Math.max(1, Math.min(limit, LIMITE_MAXIMO)) : LIMITE_POR_DEFECTO;
+    }
+    
+    // Sin parámetros de paginación se entrega la primera página del tamaño máximo: los clientes de siempre
+    // reciben el mismo listado mientras no pase de LIMITE_MAXIMO, y el cursor les avisa si hay más
+    public static int limite(Long after, Integer limit) {
+        return solicitada(after, limit) ? limite(limit) : LIMITE_MAXIMO;
+    }
+    
+    // El orden lo fija la consulta (ORDER BY id); el Pageable solo aporta el LIMIT
+    public static Pageable primeros(int limite) {
+        return PageRequest.of(0, limite);
+    }
+    
+    // Si la página vino llena puede haber más: el cursor siguiente es el id del último elemento
+    public static <T> ResponseEntity<List<T>> responder(ResponseEntity.BodyBuilder respuesta, List<T> pagina,
+                                                        int limite, Function<T, Long> id) {
+        if (pagina.size() == limite) {
+            respuesta.header(CABECERA_CURSOR, String.valueOf(id.apply(pagina.get(pagina.size() - 1))));
+        }
+        return respuesta.body(pagina);
+    }
+}
@@ -0,0 +1,82 @@
+package com.turismo.turismobackend.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Ranking en memoria: cada id tiene un puntaje y el conjunto se mantiene ordenado en cada cambio,
+// así el top-N es recorrer los primeros N elementos. Además del puntaje se cuenta cuántas reservas
+// lo sostienen; cuando llegan a cero el id sale del ranking, sin depender de restas exactas en double.
+public class RankingPopularidad {
+    
+    private static final Comparator<Entrada> MAYOR_PUNTAJE_PRIMERO = Comparator
+            .comparingDouble((Entrada entrada) -> entrada.puntaje).reversed()
+            .thenComparing(entrada -> entrada.id);
+    
+    private final Map<Long, Entrada> entradas = new HashMap<>();
+    private final TreeSet<Entrada> orden = new TreeSet<>(MAYOR_PUNTAJE_PRIMERO);
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    public void sumar(Long id, double peso) {
+        ajustar(id, peso, 1);
+    }
+    
+    public void restar(Long id, double peso) {
+        ajustar(id, -peso, -1);
+    }
+    
+    public List<Long> primeros(int cantidad) {
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>(Math.min(cantidad, orden.size()));
+            Iterator<Entrada> iterador = orden.iterator();
+            while (ids.size() < cantidad && iterador.hasNext()) {
+                ids.add(iterador.next().id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void ajustar(Long id, double delta, int reservas) {
+        lock.writeLock().lock();
+        try {
+            // Las entradas son inmutables: se retira la anterior del TreeSet antes de cambiar su posición
+            Entrada anterior = entradas.remove(id);
+            double puntaje = delta;
+            int total = reservas;
+            if (anterior != null) {
+                orden.remove(anterior);
+                puntaje += anterior.puntaje;
+                total += anterior.reservas;
+            }
+            if (total > 0) {
+                Entrada nueva = new Entrada(id, puntaje, total);
+                entradas.put(id, nueva);
+                orden.add(nueva);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private static class Entrada {
+        
+        private final Long id;
+        private final double puntaje;
+        private final int reservas;
+        
+        Entrada(Long id, double puntaje, int reservas) {
+            this.id = id;
+            this.puntaje = puntaje;
+            this.reservas = reservas;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.turismo.turismobackend.util;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Rejilla jerárquica de teselas (esquema web mercator, como los mapas del front) con agregados por tesela
+// para cada nivel de zoom. Cada alta, baja o cambio de coordenadas actualiza un agregado por nivel,
+// por lo que consultar los clusters de una vista no recorre los puntos individuales.
+public class RejillaClusters {
+    
+    public static final int ZOOM_MAXIMO = 18;
+    
+    private static final double LATITUD_MAXIMA_MERCATOR = 85.05112878;
+    
+    private final Map<Long, Punto> puntos = new HashMap<>();
+    
+    // Un mapa de teselas ocupadas por cada nivel de zoom
+    private final List<Map<Long, Tesela>> niveles = new ArrayList<>();
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    public RejillaClusters() {
+        for (int zoom = 0; zoom <= ZOOM_MAXIMO; zoom++) {
+            niveles.add(new HashMap<>());
+        }
+    }
+    
+    public void actualizar(Long id, Double latitud, Double longitud, String categoria) {
+        lock.writeLock().lock();
+        try {
+            quitar(id);
+            if (latitud == null || longitud == null ||
+                latitud < -90 || latitud > 90 || longitud < -180 || longitud > 180) {
+                return;
+            }
+            Punto punto = new Punto(latitud, longitud, categoria);
+            puntos.put(id, punto);
+            for (int zoom = 0; zoom <= ZOOM_MAXIMO; zoom++) {
+                long clave = claveTesela(teselaX(longitud, zoom), teselaY(latitud, zoom));
+                niveles.get(zoom).computeIfAbsent(clave, k -> new Tesela()).sumar(id, punto);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void eliminar(Long id) {
+        lock.writeLock().lock();
+        try {
+            quitar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Clusters del nivel de zoom que intersectan la vista. Si lngMin > lngMax la vista cruza el antimeridiano.
+    public List<Cluster> buscarClusters(int zoom, double latMin, double latMax, double lngMin, double lngMax) {
+        int z = Math.max(0, Math.min(ZOOM_MAXIMO, zoom));
+        int lado = 1 << z;
+        
+        int xMin = teselaX(lngMin, z);
+        int xMax = teselaX(lngMax, z);
+        // En mercator la Y crece hacia el sur
+        int yMin = teselaY(latMax, z);
+        int yMax = teselaY(latMin, z);
+        long anchoX = xMin <= xMax ? (long) xMax - xMin + 1 : (long) lado - xMin + xMax + 1;
+        long teselasVista = anchoX * ((long) yMax - yMin + 1);
+        
+        lock.readLock().lock();
+        try {
+            Map<Long, Tesela> teselas = niveles.get(z);
+            List<Cluster> resultado = new ArrayList<>();
+            
+            if (teselasVista > teselas.size()) {
+                // La vista cubre más teselas de las que están ocupadas: se filtran las ocupadas
+                for (Map.Entry<Long, Tesela> entrada : teselas.entrySet()) {
+                    int x = (int) (entrada.getKey() >>> 32);
+                    int y = (int) entrada.getKey().longValue();
+                    boolean dentroX = xMin <= xMax ? x >= xMin && x <= xMax : x >= xMin || x <= xMax;
+                    if (dentroX && y >= yMin && y <= yMax) {
+                        resultado.add(entrada.getValue().aCluster(z, x, y));
+                    }
+                }
+                return resultado;
+            }
+            
+            for (long i = 0; i < anchoX; i++) {
+                int x = (int) ((xMin + i) % lado);
+                for (int y = yMin; y <= yMax; y++) {
+                    Tesela tesela = teselas.get(claveTesela(x, y));
+                    if (tesela != null) {
+                        resultado.add(tesela.aCluster(z, x, y));
+                    }
+                }
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void quitar(Long id) {
+        Punto anterior = puntos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (int zoom = 0; zoom <= ZOOM_MAXIMO; zoom++) {
+            long clave = claveTesela(teselaX(anterior.longitud, zoom), teselaY(anterior.latitud, zoom));
+            Map<Long, Tesela> teselas = niveles.get(zoom);
+            Tesela tesela = teselas.get(clave);
+            if (tesela != null && tesela.restar(id, anterior)) {
+                teselas.remove(clave);
+            }
+        }
+    }
+    
+    private static int teselaX(double longitud, int zoom) {
+        int lado = 1 << zoom;
+        int x = (int) Math.floor((longitud + 180.0) / 360.0 * lado);
+        return Math.max(0, Math.min(lado - 1, x));
+    }
+    
+    private static int teselaY(double latitud, int zoom) {
+        int lado = 1 << zoom;
+        double lat = Math.toRadians(Math.max(-LATITUD_MAXIMA_MERCATOR, Math.min(LATITUD_MAXIMA_MERCATOR, latitud)));
+        double y = (1.0 - Math.log(Math.tan(lat) + 1.0 / Math.cos(lat)) / Math.PI) / 2.0 * lado;
+        return Math.max(0, Math.min(lado - 1, (int) Math.floor(y)));
+    }
+    
+    private static long claveTesela(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+    
+    private static final class Punto {
+        private final double latitud;
+        private final double longitud;
+        private final String categoria;
+        
+        private Punto(double latitud, double longitud, String categoria) {
+            this.latitud = latitud;
+            this.longitud = longitud;
+            this.categoria = categoria;
+        }
+    }
+    
+    private static final class Tesela {
+        private int cantidad;
+        private double sumaLatitud;
+        private double sumaLongitud;
+        // Con un único punto en la tesela, la suma de ids es justamente su id
+        private long sumaIds;
+        private final Map<String, Integer> conteoPorCategoria = new HashMap<>();
+        
+        private void sumar(Long id, Punto punto) {
+            cantidad++;
+            sumaLatitud += punto.latitud;
+            sumaLongitud += punto.longitud;
+            sumaIds += id;
+            if (punto.categoria != null) {
+                conteoPorCategoria.merge(punto.categoria, 1, Integer::sum);
+            }
+        }
+        
+        // Devuelve true si la tesela quedó vacía
+        private boolean restar(Long id, Punto punto) {
+            cantidad--;
+            sumaLatitud -= punto.latitud;
+            sumaLongitud -= punto.longitud;
+            sumaIds -= id;
+            if (punto.categoria != null) {
+                conteoPorCategoria.computeIfPresent(punto.categoria, (k, v) -> v > 1 ? v - 1 : null);
+            }
+            return cantidad <= 0;
+        }
+        
+        private Cluster aCluster(int zoom, int x, int y) {
+            String dominante = null;
+            int maximo = 0;
+            for (Map.Entry<String, Integer> entrada : conteoPorCategoria.entrySet()) {
+                if (entrada.getValue() > maximo ||
+                    (entrada.getValue() == maximo && entrada.getKey().compareTo(dominante) < 0)) {
+                    dominante = entrada.getKey();
+                    maximo = entrada.getValue();
+                }
+            }
+            return new Cluster(zoom, x, y, cantidad, sumaLatitud / cantidad, sumaLongitud / cantidad,
+                    dominante, cantidad == 1 ? sumaIds : null);
+        }
+    }
+    
+    @Value
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Cluster {
+        int zoom;
+        int x;
+        int y;
+        int cantidad;
+        double latitud;
+        double longitud;
+        String categoriaDominante;
+        Long idUnico;
+    }
+}
@@ -0,0 +1,26 @@
+package com.turismo.turismobackend.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Difiere un cambio en memoria (índices, contadores, colas) hasta que la transacción actual confirme,
+// para que un rollback no deje el estado en memoria adelantado respecto de la base de datos.
+// Sin transacción activa el cambio se aplica en el acto: la escritura ya se confirmó.
+public final class TrasCommit {
+    
+    private TrasCommit() {
+    }
+    
+    public static void ejecutar(Runnable cambio) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cambio.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cambio.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,178 @@
+package com.turismo.turismobackend.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Trie de prefijos para el autocompletado. Cada texto se inserta normalizado (sin tildes, en minúsculas)
+// completo y a partir de cada una de sus palabras, para que "sagr" sugiera "Tour Valle Sagrado".
+// Las sugerencias se devuelven de la completación más corta a la más larga, por orden alfabético a igual longitud.
+public class TrieAutocompletado {
+    
+    private final Nodo raiz = new Nodo();
+    
+    // Claves insertadas por cada sugerencia, para poder retirarla al actualizarla o eliminarla
+    private final Map<String, List<String>> clavesPorSugerencia = new HashMap<>();
+    
+    private final Map<String, Sugerencia> sugerencias = new HashMap<>();
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    public void actualizar(String tipo, Long id, String texto) {
+        String identificador = tipo + ":" + id;
+        List<String> claves = generarClaves(texto);
+        
+        lock.writeLock().lock();
+        try {
+            quitar(identificador);
+            if (claves.isEmpty()) {
+                return;
+            }
+            sugerencias.put(identificador, new Sugerencia(tipo, id, texto.trim(), tipo + ":" + claves.get(0)));
+            clavesPorSugerencia.put(identificador, claves);
+            for (String clave : claves) {
+                Nodo nodo = raiz;
+                for (int i = 0; i < clave.length(); i++) {
+                    nodo = nodo.hijos.computeIfAbsent(clave.charAt(i), c -> new Nodo());
+                }
+                nodo.terminales.add(identificador);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void eliminar(String tipo, Long id) {
+        lock.writeLock().lock();
+        try {
+            quitar(tipo + ":" + id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public List<Sugerencia> sugerir(String prefijo, int limite) {
+        String clave = normalizarClave(prefijo);
+        List<Sugerencia> resultado = new ArrayList<>();
+        if (clave.isEmpty() || limite <= 0) {
+            return resultado;
+        }
+        
+        lock.readLock().lock();
+        try {
+            Nodo nodo = raiz;
+            for (int i = 0; i < clave.length() && nodo != null; i++) {
+                nodo = nodo.hijos.get(clave.charAt(i));
+            }
+            if (nodo == null) {
+                return resultado;
+            }
+            
+            // Recorrido por niveles desde el nodo del prefijo: primero las completaciones más cortas.
+            // Se corta apenas se reúnen "limite" sugerencias distintas.
+            Map<String, Sugerencia> encontradas = new LinkedHashMap<>();
+            ArrayDeque<Nodo> pendientes = new ArrayDeque<>();
+            pendientes.add(nodo);
+            while (!pendientes.isEmpty() && encontradas.size() < limite) {
+                Nodo actual = pendientes.poll();
+                for (String identificador : actual.terminales) {
+                    Sugerencia sugerencia = sugerencias.get(identificador);
+                    // Un mismo texto de un mismo tipo (p. ej. dos distritos homónimos) se sugiere una sola vez
+                    encontradas.putIfAbsent(sugerencia.claveTexto, sugerencia);
+                    if (encontradas.size() >= limite) {
+                        break;
+                    }
+                }
+                pendientes.addAll(actual.hijos.values());
+            }
+            resultado.addAll(encontradas.values());
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void quitar(String identificador) {
+        List<String> claves = clavesPorSugerencia.remove(identificador);
+        sugerencias.remove(identificador);
+        if (claves == null) {
+            return;
+        }
+        for (String clave : claves) {
+            quitarClave(raiz, clave, 0, identificador);
+        }
+    }
+    
+    // Devuelve true si el nodo quedó vacío y puede podarse
+    private boolean quitarClave(Nodo nodo, String clave, int posicion, String identificador) {
+        if (posicion == clave.length()) {
+            nodo.terminales.remove(identificador);
+        } else {
+            char caracter = clave.charAt(posicion);
+            Nodo hijo = nodo.hijos.get(caracter);
+            if (hijo != null && quitarClave(hijo, clave, posicion + 1, identificador)) {
+                nodo.hijos.remove(caracter);
+            }
+        }
+        return nodo.terminales.isEmpty() && nodo.hijos.isEmpty();
+    }
+    
+    private static List<String> generarClaves(String texto) {
+        List<String> claves = new ArrayList<>();
+        String normalizado = normalizarClave(texto);
+        if (normalizado.isEmpty()) {
+            return claves;
+        }
+        claves.add(normalizado);
+        for (int i = normalizado.indexOf(' '); i >= 0; i = normalizado.indexOf(' ', i + 1)) {
+            String sufijo = normalizado.substring(i + 1);
+            if (!claves.contains(sufijo)) {
+                claves.add(sufijo);
+            }
+        }
+        return claves;
+    }
+    
+    private static String normalizarClave(String texto) {
+        return NormalizadorTexto.normalizar(texto).replaceAll("[^a-z0-9]+", " ").trim();
+    }
+    
+    private static final class Nodo {
+        // Hijos ordenados para que el recorrido sea alfabético
+        private final TreeMap<Character, Nodo> hijos = new TreeMap<>();
+        private final Set<String> terminales = new LinkedHashSet<>();
+    }
+    
+    public static final class Sugerencia {
+        private final String tipo;
+        private final Long id;
+        private final String texto;
+        private final String claveTexto;
+        
+        private Sugerencia(String tipo, Long id, String texto, String claveTexto) {
+            this.tipo = tipo;
+            this.id = id;
+            this.texto = texto;
+            this.claveTexto = claveTexto;
+        }
+        
+        public String getTipo() {
+            return tipo;
+        }
+        
+        public Long getId() {
+            return id;
+        }
+        
+        public String getTexto() {
+            return texto;
+        }
+    }
+}
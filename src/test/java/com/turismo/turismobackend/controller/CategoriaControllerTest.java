@@ -0,0 +1,61 @@
+package com.turismo.turismobackend.controller;
+
+import com.turismo.turismobackend.model.VersionCatalogo;
+import com.turismo.turismobackend.repository.VersionCatalogoRepository;
+import com.turismo.turismobackend.service.CategoriaService;
+import com.turismo.turismobackend.service.VersionCatalogoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET condicional del listado de categorías: el ETag sale de la versión guardada en la base de datos
+class CategoriaControllerTest {
+
+	private CategoriaService categoriaService;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		VersionCatalogoRepository versionRepository = mock(VersionCatalogoRepository.class);
+		when(versionRepository.findById("CATEGORIAS"))
+				.thenReturn(Optional.of(new VersionCatalogo("CATEGORIAS", 3L)));
+		categoriaService = mock(CategoriaService.class);
+		when(categoriaService.getAllCategorias(anyLong())).thenReturn(List.of());
+
+		mockMvc = MockMvcBuilders
+				.standaloneSetup(new CategoriaController(categoriaService, new VersionCatalogoService(versionRepository)))
+				.build();
+	}
+
+	@Test
+	void sinCambiosResponde304SinLeerElListado() throws Exception {
+		mockMvc.perform(get("/api/categorias").header(HttpHeaders.IF_NONE_MATCH, "\"categorias-3\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"categorias-3\""));
+
+		verify(categoriaService, never()).getAllCategorias(anyLong());
+	}
+
+	@Test
+	void conVersionAnteriorRespondeElListadoDeLaVersionActual() throws Exception {
+		mockMvc.perform(get("/api/categorias").header(HttpHeaders.IF_NONE_MATCH, "\"categorias-2\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"categorias-3\""));
+
+		verify(categoriaService).getAllCategorias(3L);
+	}
+}
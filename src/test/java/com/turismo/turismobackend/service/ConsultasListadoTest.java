@@ -0,0 +1,266 @@
+package com.turismo.turismobackend.service;
+
+import com.turismo.turismobackend.dto.response.PlanTuristicoResponse;
+import com.turismo.turismobackend.dto.response.ReservaResponse;
+import com.turismo.turismobackend.dto.response.ServicioTuristicoResponse;
+import com.turismo.turismobackend.model.Emprendedor;
+import com.turismo.turismobackend.model.Municipalidad;
+import com.turismo.turismobackend.model.PlanTuristico;
+import com.turismo.turismobackend.model.Reserva;
+import com.turismo.turismobackend.model.Rol;
+import com.turismo.turismobackend.model.ServicioPlan;
+import com.turismo.turismobackend.model.ServicioTuristico;
+import com.turismo.turismobackend.model.Usuario;
+import com.turismo.turismobackend.util.Paginacion;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Cantidad de sentencias SQL por listado: debe ser constante, sin importar cuántas filas haya
+// ni cuántas asociaciones LAZY tenga cada una
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ ServicioTuristicoService.class, PlanTuristicoService.class, ReservaService.class })
+class ConsultasListadoTest {
+
+	private static final int MUNICIPALIDADES = 3;
+	private static final int SERVICIOS_POR_MUNICIPALIDAD = 2;
+	private static final int RESERVAS_POR_PLAN = 2;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private ServicioTuristicoService servicioService;
+
+	@Autowired
+	private PlanTuristicoService planService;
+
+	@Autowired
+	private ReservaService reservaService;
+
+	@MockBean
+	private BusquedaService busquedaService;
+
+	@MockBean
+	private FacetasService facetasService;
+
+	@MockBean
+	private IndicesCatalogoService indicesCatalogoService;
+
+	@MockBean
+	private VersionCatalogoService versionCatalogoService;
+
+	@MockBean
+	private InventarioPlanService inventarioPlanService;
+
+	@MockBean
+	private PopularidadPlanesService popularidadPlanesService;
+
+	private Statistics estadisticas;
+	private Long primeraMunicipalidadId;
+
+	@BeforeEach
+	void setUp() {
+		Rol admin = entityManager.persist(Rol.builder().nombre(Rol.RolNombre.ROLE_ADMIN).build());
+		Usuario administrador = entityManager.persist(usuario("admin", new HashSet<>(Set.of(admin))));
+		Usuario turista = entityManager.persist(usuario("turista", new HashSet<>()));
+
+		int codigo = 0;
+		for (int i = 0; i < MUNICIPALIDADES; i++) {
+			Municipalidad municipalidad = entityManager.persist(Municipalidad.builder()
+					.nombre("Municipalidad " + i)
+					.departamento("Puno")
+					.provincia("Puno")
+					.distrito("Distrito " + i)
+					.build());
+			if (primeraMunicipalidadId == null) {
+				primeraMunicipalidadId = municipalidad.getId();
+			}
+
+			Emprendedor emprendedor = entityManager.persist(Emprendedor.builder()
+					.nombreEmpresa("Empresa " + i)
+					.rubro("Turismo")
+					.municipalidad(municipalidad)
+					.build());
+
+			List<ServicioTuristico> servicios = new ArrayList<>();
+			for (int j = 0; j < SERVICIOS_POR_MUNICIPALIDAD; j++) {
+				servicios.add(entityManager.persist(ServicioTuristico.builder()
+						.nombre("Servicio " + i + "-" + j)
+						.precio(new BigDecimal("50.00"))
+						.duracionHoras(3)
+						.capacidadMaxima(20)
+						.tipo(ServicioTuristico.TipoServicio.TRANSPORTE)
+						.estado(ServicioTuristico.EstadoServicio.ACTIVO)
+						.emprendedor(emprendedor)
+						.build()));
+			}
+
+			PlanTuristico plan = entityManager.persist(PlanTuristico.builder()
+					.nombre("Plan " + i)
+					.precioTotal(new BigDecimal("100.00"))
+					.duracionDias(2)
+					.capacidadMaxima(20)
+					.estado(PlanTuristico.EstadoPlan.ACTIVO)
+					.nivelDificultad(PlanTuristico.NivelDificultad.FACIL)
+					.municipalidad(municipalidad)
+					.usuarioCreador(administrador)
+					.build());
+
+			for (int j = 0; j < servicios.size(); j++) {
+				entityManager.persist(ServicioPlan.builder()
+						.plan(plan)
+						.servicio(servicios.get(j))
+						.diaDelPlan(1)
+						.ordenEnElDia(j + 1)
+						.esOpcional(false)
+						.esPersonalizable(false)
+						.build());
+			}
+
+			for (int j = 0; j < RESERVAS_POR_PLAN; j++) {
+				entityManager.persist(Reserva.builder()
+						.codigoReserva("RES-TEST-" + codigo++)
+						.plan(plan)
+						.usuario(turista)
+						.fechaInicio(LocalDate.now().plusDays(10))
+						.fechaFin(LocalDate.now().plusDays(11))
+						.numeroPersonas(2)
+						.montoTotal(new BigDecimal("200.00"))
+						.montoFinal(new BigDecimal("200.00"))
+						.estado(Reserva.EstadoReserva.PENDIENTE)
+						.build());
+			}
+		}
+
+		entityManager.flush();
+		entityManager.clear();
+
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				administrador, null, administrador.getAuthorities()));
+
+		estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estadisticas.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void listadoDeServiciosUsaUnaSentencia() {
+		List<ServicioTuristicoResponse> servicios = servicioService.getPrimeraPaginaServicios(0L);
+
+		assertEquals(MUNICIPALIDADES * SERVICIOS_POR_MUNICIPALIDAD, servicios.size());
+		assertEquals("Municipalidad 0", servicios.get(0).getEmprendedor().getMunicipalidad().getNombre());
+		assertEquals(1, estadisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	void paginaDeServiciosUsaUnaSentencia() {
+		List<ServicioTuristicoResponse> servicios = servicioService.getAllServicios(0L, 4);
+
+		assertEquals(4, servicios.size());
+		assertEquals(1, estadisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	void listadoDePlanesUsaDosSentencias() {
+		List<PlanTuristicoResponse> planes = planService.getPrimeraPaginaPlanes(0L);
+
+		assertEquals(MUNICIPALIDADES, planes.size());
+		assertEquals(SERVICIOS_POR_MUNICIPALIDAD, planes.get(0).getServicios().size());
+		assertNull(planes.get(0).getTotalReservas());
+		assertEquals("admin", planes.get(0).getUsuarioCreador().getUsername());
+		assertEquals(2, estadisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	void paginaDePlanesUsaDosSentencias() {
+		List<PlanTuristicoResponse> planes = planService.getAllPlanes(0L, 2);
+
+		assertEquals(2, planes.size());
+		assertEquals(2, estadisticas.getPrepareStatementCount());
+	}
+
+	// Rutas que devuelven entidades: planes con municipalidad y creador, servicios por lote y conteo agrupado
+	@Test
+	void planesPorEstadoUsanTresSentencias() {
+		List<PlanTuristicoResponse> planes = planService.getPlanesByEstado(PlanTuristico.EstadoPlan.ACTIVO);
+
+		assertEquals(MUNICIPALIDADES, planes.size());
+		assertEquals(SERVICIOS_POR_MUNICIPALIDAD, planes.get(0).getServicios().size());
+		assertEquals(RESERVAS_POR_PLAN, planes.get(0).getTotalReservas());
+		assertEquals(3, estadisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	void detalleDePlanUsaTresSentencias() {
+		Long planId = planService.getPlanesByMunicipalidad(primeraMunicipalidadId).get(0).getId();
+		entityManager.clear();
+		estadisticas.clear();
+
+		PlanTuristicoResponse plan = planService.getPlanById(planId);
+
+		assertEquals("Municipalidad 0", plan.getMunicipalidad().getNombre());
+		assertEquals(SERVICIOS_POR_MUNICIPALIDAD, plan.getServicios().size());
+		assertEquals(RESERVAS_POR_PLAN, plan.getTotalReservas());
+		assertEquals(3, estadisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	void listadoDeReservasUsaUnaSentencia() {
+		List<ReservaResponse> reservas = reservaService.getAllReservas(0L, Paginacion.LIMITE_MAXIMO);
+
+		assertEquals(MUNICIPALIDADES * RESERVAS_POR_PLAN, reservas.size());
+		assertEquals("Municipalidad 0", reservas.get(0).getPlan().getMunicipalidad().getNombre());
+		assertEquals("turista", reservas.get(0).getUsuario().getUsername());
+		assertEquals(1, estadisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	void reservasDeMunicipalidadUsaUnaSentencia() {
+		List<ReservaResponse> reservas = reservaService.getReservasByMunicipalidad(primeraMunicipalidadId, 0L, Paginacion.LIMITE_MAXIMO);
+
+		assertEquals(RESERVAS_POR_PLAN, reservas.size());
+		assertEquals(1, estadisticas.getPrepareStatementCount());
+	}
+
+	private Usuario usuario(String username, Set<Rol> roles) {
+		return Usuario.builder()
+				.nombre(username)
+				.apellido("Prueba")
+				.username(username)
+				.email(username + "@turismo.test")
+				.password("x")
+				.roles(roles)
+				.build();
+	}
+}
@@ -0,0 +1,85 @@
+package com.turismo.turismobackend.service;
+
+import com.turismo.turismobackend.model.Emprendedor;
+import com.turismo.turismobackend.model.Municipalidad;
+import com.turismo.turismobackend.model.ServicioTuristico;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+// La cascada de borrado de una municipalidad debe sacar de los índices a sus emprendedores y a los
+// servicios de cada uno, y solo cuando la transacción confirma.
+class IndicesCatalogoServiceTest {
+
+	private IndiceUbicacionService indiceUbicacionService;
+	private BusquedaService busquedaService;
+	private AutocompletadoService autocompletadoService;
+	private FacetasService facetasService;
+	private IndicesCatalogoService indicesCatalogoService;
+
+	@BeforeEach
+	void setUp() {
+		indiceUbicacionService = mock(IndiceUbicacionService.class);
+		busquedaService = mock(BusquedaService.class);
+		autocompletadoService = mock(AutocompletadoService.class);
+		facetasService = mock(FacetasService.class);
+		indicesCatalogoService = new IndicesCatalogoService(
+				indiceUbicacionService, busquedaService, autocompletadoService, facetasService);
+	}
+
+	@AfterEach
+	void limpiarSincronizacion() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	private Municipalidad municipalidadConServicios() {
+		Emprendedor emprendedor = Emprendedor.builder().id(10L).build();
+		emprendedor.getServiciosTuristicos().add(ServicioTuristico.builder().id(100L).build());
+		emprendedor.getServiciosTuristicos().add(ServicioTuristico.builder().id(101L).build());
+		Municipalidad municipalidad = Municipalidad.builder().id(1L).build();
+		municipalidad.getEmprendedores().add(emprendedor);
+		return municipalidad;
+	}
+
+	@Test
+	void municipalidadEliminadaQuitaServiciosEnCascadaDeTodosLosIndices() {
+		indicesCatalogoService.municipalidadEliminada(municipalidadConServicios());
+
+		verify(autocompletadoService).eliminarMunicipalidad(1L);
+		verify(indiceUbicacionService).eliminarEmprendedor(10L);
+		verify(autocompletadoService).eliminarEmprendedor(10L);
+		for (Long servicioId : List.of(100L, 101L)) {
+			verify(busquedaService).eliminarServicio(servicioId);
+			verify(indiceUbicacionService).eliminarServicio(servicioId);
+			verify(autocompletadoService).eliminarServicio(servicioId);
+			verify(facetasService).eliminarServicio(servicioId);
+		}
+	}
+
+	@Test
+	void dentroDeUnaTransaccionEsperaAlCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+		Municipalidad municipalidad = municipalidadConServicios();
+
+		indicesCatalogoService.municipalidadEliminada(municipalidad);
+		// La entidad ya no está en memoria tras el commit: los ids se copiaron al avisar
+		municipalidad.getEmprendedores().clear();
+		verifyNoInteractions(busquedaService, indiceUbicacionService, autocompletadoService, facetasService);
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		verify(busquedaService).eliminarServicio(100L);
+		verify(busquedaService).eliminarServicio(101L);
+		verifyNoMoreInteractions(busquedaService);
+	}
+}
@@ -0,0 +1,70 @@
+package com.turismo.turismobackend.service;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// La clave y el parser se arman una sola vez en inicializar(); verificar tokens no debe reconstruirlos
+class JwtServiceTest {
+
+	private static final String SECRETO = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+	private static final String OTRO_SECRETO = "6A586E3272357538782F413F4428472B4B6250645367566B5970404E63526655";
+
+	private JwtService jwtService;
+	private UserDetails usuario;
+
+	@BeforeEach
+	void setUp() {
+		jwtService = crear(SECRETO);
+		usuario = User.withUsername("turista").password("x").roles("USER").build();
+	}
+
+	@Test
+	void inicializarArmaClaveYParser() {
+		assertNotNull(ReflectionTestUtils.getField(jwtService, "signInKey"));
+		assertNotNull(ReflectionTestUtils.getField(jwtService, "jwtParser"));
+	}
+
+	@Test
+	void verificarTokensReutilizaClaveYParser() {
+		Key clave = (Key) ReflectionTestUtils.getField(jwtService, "signInKey");
+		JwtParser parser = (JwtParser) ReflectionTestUtils.getField(jwtService, "jwtParser");
+
+		for (int i = 0; i < 3; i++) {
+			String token = jwtService.generateToken(usuario);
+			assertEquals("turista", jwtService.extractAllClaims(token).getSubject());
+			assertTrue(jwtService.isTokenValid(token, usuario));
+		}
+
+		assertSame(clave, ReflectionTestUtils.getField(jwtService, "signInKey"));
+		assertSame(parser, ReflectionTestUtils.getField(jwtService, "jwtParser"));
+	}
+
+	@Test
+	void rechazaTokensFirmadosConOtraClave() {
+		String ajeno = crear(OTRO_SECRETO).generateToken(usuario);
+
+		assertThrows(SignatureException.class, () -> jwtService.extractAllClaims(ajeno));
+	}
+
+	private static JwtService crear(String secreto) {
+		JwtService servicio = new JwtService();
+		ReflectionTestUtils.setField(servicio, "secretKey", secreto);
+		ReflectionTestUtils.setField(servicio, "jwtExpiration", 86_400_000L);
+		ReflectionTestUtils.setField(servicio, "refreshExpiration", 604_800_000L);
+		servicio.inicializar();
+		return servicio;
+	}
+}
@@ -0,0 +1,60 @@
+package com.turismo.turismobackend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+// Las versiones se guardan en la base de datos: cualquier nodo que las lea ve el mismo ETag
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(VersionCatalogoService.class)
+class VersionCatalogoServiceTest {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private VersionCatalogoService versionCatalogoService;
+
+	// El UPDATE masivo no pasa por el contexto de persistencia: se descarta para leer lo que quedó en la tabla
+	private long version(VersionCatalogoService.Agregado agregado) {
+		entityManager.clear();
+		return versionCatalogoService.version(agregado);
+	}
+
+	@Test
+	void incrementaSoloLosAgregadosIndicados() {
+		versionCatalogoService.inicializar();
+
+		versionCatalogoService.incrementar(VersionCatalogoService.Agregado.SERVICIOS, VersionCatalogoService.Agregado.PLANES);
+		versionCatalogoService.incrementar(VersionCatalogoService.Agregado.SERVICIOS);
+
+		assertEquals(2, version(VersionCatalogoService.Agregado.SERVICIOS));
+		assertEquals(1, version(VersionCatalogoService.Agregado.PLANES));
+		assertEquals(0, version(VersionCatalogoService.Agregado.CATEGORIAS));
+	}
+
+	@Test
+	void creaLasFilasQueFaltanAlIncrementar() {
+		assertEquals(0, version(VersionCatalogoService.Agregado.CATEGORIAS));
+
+		versionCatalogoService.incrementar(VersionCatalogoService.Agregado.CATEGORIAS);
+
+		assertEquals(1, version(VersionCatalogoService.Agregado.CATEGORIAS));
+		assertEquals(0, version(VersionCatalogoService.Agregado.SERVICIOS));
+	}
+
+	@Test
+	void elEtagCambiaConLaVersion() {
+		versionCatalogoService.inicializar();
+		String antes = versionCatalogoService.etag(VersionCatalogoService.Agregado.PLANES, version(VersionCatalogoService.Agregado.PLANES));
+
+		versionCatalogoService.incrementar(VersionCatalogoService.Agregado.PLANES);
+
+		assertNotEquals(antes, versionCatalogoService.etag(VersionCatalogoService.Agregado.PLANES, version(VersionCatalogoService.Agregado.PLANES)));
+	}
+}
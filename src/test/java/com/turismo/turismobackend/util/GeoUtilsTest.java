@@ -0,0 +1,32 @@
+package com.turismo.turismobackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoUtilsTest {
+
+	private static final double LATITUD = -13.5319;
+	private static final double LONGITUD = -71.9675;
+	private static final double RADIO_KM = 10.0;
+
+	private static boolean dentroDeLaCaja(double[] caja, double latitud, double longitud) {
+		return latitud >= caja[0] && latitud <= caja[1] && longitud >= caja[2] && longitud <= caja[3];
+	}
+
+	@Test
+	void laCajaContieneLosPuntosCercanosAlBordeDelRadio() {
+		double[] caja = GeoUtils.calcularCajaEnvolvente(LATITUD, LONGITUD, RADIO_KM);
+		double[][] puntos = {
+				{ LATITUD + 9.994 / 111.195, LONGITUD },
+				{ LATITUD - 9.994 / 111.195, LONGITUD },
+				{ LATITUD, LONGITUD + 9.994 / (111.195 * Math.cos(Math.toRadians(LATITUD))) },
+				{ LATITUD, LONGITUD - 9.994 / (111.195 * Math.cos(Math.toRadians(LATITUD))) }
+		};
+
+		for (double[] punto : puntos) {
+			assertTrue(GeoUtils.calcularDistancia(LATITUD, LONGITUD, punto[0], punto[1]) <= RADIO_KM);
+			assertTrue(dentroDeLaCaja(caja, punto[0], punto[1]));
+		}
+	}
+}
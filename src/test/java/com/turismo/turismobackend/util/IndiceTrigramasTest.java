@@ -0,0 +1,58 @@
+package com.turismo.turismobackend.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceTrigramasTest {
+
+	private IndiceTrigramas indice;
+
+	@BeforeEach
+	void setUp() {
+		indice = new IndiceTrigramas();
+		for (String termino : new String[] {"cusco", "arequipa", "picchu", "puno", "lima"}) {
+			indice.agregar(termino);
+		}
+	}
+
+	@Test
+	void distanciaEdicionCuentaUnaOperacionPorEdicion() {
+		assertEquals(1, IndiceTrigramas.distanciaEdicion("cusco", "csuco", 2));
+		assertEquals(1, IndiceTrigramas.distanciaEdicion("arequipa", "arequippa", 2));
+		assertEquals(1, IndiceTrigramas.distanciaEdicion("cusco", "cuzco", 2));
+		assertEquals(0, IndiceTrigramas.distanciaEdicion("puno", "puno", 1));
+	}
+
+	@Test
+	void distanciaEdicionCortaAlSuperarElMaximo() {
+		assertEquals(2, IndiceTrigramas.distanciaEdicion("puno", "lima", 1));
+	}
+
+	@Test
+	void encuentraTransposicionAunqueSoloCompartaUnTrigrama() {
+		assertEquals(Map.of("cusco", 1), indice.buscarParecidos("csuco", 1));
+	}
+
+	@Test
+	void encuentraInsercionYBorrado() {
+		assertEquals(Map.of("arequipa", 1), indice.buscarParecidos("arequippa", 1));
+		assertEquals(Map.of("picchu", 1), indice.buscarParecidos("pichu", 1));
+	}
+
+	@Test
+	void encuentraSustitucion() {
+		assertEquals(Map.of("cusco", 1), indice.buscarParecidos("cuzco", 1));
+	}
+
+	@Test
+	void noDevuelveElPropioTerminoNiTerminosQuitados() {
+		assertTrue(indice.buscarParecidos("cusco", 1).isEmpty());
+		indice.quitar("cusco");
+		assertTrue(indice.buscarParecidos("cuzco", 1).isEmpty());
+	}
+}
@@ -0,0 +1,106 @@
+package com.turismo.turismobackend.util;
+
+import com.turismo.turismobackend.util.OptimizadorRuta.Parada;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Se comprueba el costo de la ruta y las restricciones de horario, no un orden exacto: una ruta abierta y su
+// inversa cuestan lo mismo
+class OptimizadorRutaTest {
+
+	private static final double TOLERANCIA_KM = 1e-9;
+
+	private static Parada parada(double latitud, double longitud) {
+		return new Parada(latitud, longitud, null, null);
+	}
+
+	private static double costo(double[][] coordenadas, int[] orden) {
+		double total = 0;
+		for (int i = 1; i < orden.length; i++) {
+			double[] desde = coordenadas[orden[i - 1]];
+			double[] hasta = coordenadas[orden[i]];
+			total += GeoUtils.calcularDistancia(desde[0], desde[1], hasta[0], hasta[1]);
+		}
+		return total;
+	}
+
+	private static void assertEsPermutacion(int n, int[] orden) {
+		int[] ordenado = orden.clone();
+		Arrays.sort(ordenado);
+		int[] esperado = new int[n];
+		Arrays.setAll(esperado, i -> i);
+		assertArrayEquals(esperado, ordenado);
+	}
+
+	private static int posicion(int[] orden, int parada) {
+		for (int i = 0; i < orden.length; i++) {
+			if (orden[i] == parada) {
+				return i;
+			}
+		}
+		throw new AssertionError("Falta la parada " + parada);
+	}
+
+	private static void assertOptimo(double[][] coordenadas, List<Parada> paradas, int[] optimo) {
+		int[] orden = OptimizadorRuta.optimizar(paradas);
+
+		assertEsPermutacion(paradas.size(), orden);
+		assertEquals(costo(coordenadas, optimo), costo(coordenadas, orden), TOLERANCIA_KM);
+	}
+
+	@Test
+	void recorreParadasAlineadasDeUnExtremoAlOtro() {
+		double[][] coordenadas = { { -15.84, -70.03 }, { -15.84, -70.00 }, { -15.84, -70.02 }, { -15.84, -70.01 } };
+		List<Parada> paradas = Arrays.stream(coordenadas).map(c -> parada(c[0], c[1])).toList();
+
+		assertOptimo(coordenadas, paradas, new int[] { 0, 2, 3, 1 });
+	}
+
+	@Test
+	void mejoraElZigZagDelVecinoMasCercano() {
+		// Desde la primera parada el vecino más cercano alterna de lado; el óptimo va de un extremo al otro
+		double[][] coordenadas = { { 0.0, 0.0 }, { 0.0, 0.010 }, { 0.0, -0.011 }, { 0.0, 0.021 }, { 0.0, -0.023 } };
+		List<Parada> paradas = Arrays.stream(coordenadas).map(c -> parada(c[0], c[1])).toList();
+
+		assertOptimo(coordenadas, paradas, new int[] { 3, 1, 0, 2, 4 });
+	}
+
+	@Test
+	void ubicaParadasSinHoraEntreLasQueTienenHora() {
+		// Óptimo: 08:00 (-70.01) -> 09:30 (-70.02) ... la parada sin hora (-70.005) queda antes de la de 10:00
+		double[][] coordenadas = { { -15.84, -70.00 }, { -15.84, -70.01 }, { -15.84, -70.02 }, { -15.84, -70.005 } };
+		List<Parada> paradas = List.of(
+				new Parada(-15.84, -70.00, "10:00", null),
+				new Parada(-15.84, -70.01, "08:00", null),
+				new Parada(-15.84, -70.02, null, "09:30"),
+				parada(-15.84, -70.005));
+
+		int[] orden = OptimizadorRuta.optimizar(paradas);
+
+		assertEsPermutacion(paradas.size(), orden);
+		assertTrue(posicion(orden, 1) < posicion(orden, 2));
+		assertTrue(posicion(orden, 2) < posicion(orden, 0));
+		assertEquals(costo(coordenadas, new int[] { 1, 2, 3, 0 }), costo(coordenadas, orden), TOLERANCIA_KM);
+	}
+
+	@Test
+	void sinCoordenadasConservaElOrdenRecibido() {
+		List<Parada> paradas = List.of(
+				parada(-15.84, -70.00),
+				new Parada(null, -70.01, null, null),
+				parada(-15.84, -70.02));
+
+		assertArrayEquals(new int[] { 0, 1, 2 }, OptimizadorRuta.optimizar(paradas));
+	}
+
+	@Test
+	void sinParadasDevuelveRutaVacia() {
+		assertArrayEquals(new int[0], OptimizadorRuta.optimizar(List.of()));
+	}
+}
@@ -0,0 +1,44 @@
+package com.turismo.turismobackend.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PaginacionTest {
+
+	private static List<Long> ids(int cantidad) {
+		return LongStream.rangeClosed(1, cantidad).boxed().collect(Collectors.toList());
+	}
+
+	@Test
+	void sinParametrosUsaElLimiteMaximo() {
+		assertEquals(Paginacion.LIMITE_MAXIMO, Paginacion.limite(null, null));
+		assertEquals(Paginacion.LIMITE_POR_DEFECTO, Paginacion.limite(10L, null));
+		assertEquals(20, Paginacion.limite(null, 20));
+	}
+
+	@Test
+	void paginaIncompletaSeEntregaSinCursor() {
+		ResponseEntity<List<Long>> respuesta = Paginacion.responder(
+				ResponseEntity.ok(), ids(Paginacion.LIMITE_MAXIMO - 1), Paginacion.LIMITE_MAXIMO, Function.identity());
+
+		assertEquals(Paginacion.LIMITE_MAXIMO - 1, respuesta.getBody().size());
+		assertNull(respuesta.getHeaders().getFirst(Paginacion.CABECERA_CURSOR));
+	}
+
+	@Test
+	void paginaLlenaDevuelveElCursor() {
+		ResponseEntity<List<Long>> respuesta = Paginacion.responder(
+				ResponseEntity.ok(), ids(Paginacion.LIMITE_MAXIMO), Paginacion.LIMITE_MAXIMO, Function.identity());
+
+		assertEquals(Paginacion.LIMITE_MAXIMO, respuesta.getBody().size());
+		assertEquals(String.valueOf(Paginacion.LIMITE_MAXIMO), respuesta.getHeaders().getFirst(Paginacion.CABECERA_CURSOR));
+	}
+}
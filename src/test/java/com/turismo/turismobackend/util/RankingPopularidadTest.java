@@ -0,0 +1,64 @@
+package com.turismo.turismobackend.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RankingPopularidadTest {
+
+	private RankingPopularidad ranking;
+
+	@BeforeEach
+	void setUp() {
+		ranking = new RankingPopularidad();
+		ranking.sumar(1L, 1.0);
+		ranking.sumar(2L, 3.0);
+		ranking.sumar(3L, 2.0);
+		ranking.sumar(4L, 2.0);
+	}
+
+	@Test
+	void ordenaPorPuntajeYDesempataPorId() {
+		assertEquals(List.of(2L, 3L, 4L, 1L), ranking.primeros(10));
+	}
+
+	@Test
+	void devuelveSoloLosPrimerosPedidos() {
+		assertEquals(List.of(2L, 3L), ranking.primeros(2));
+	}
+
+	@Test
+	void sumarReordena() {
+		ranking.sumar(1L, 2.5);
+
+		assertEquals(List.of(1L, 2L, 3L, 4L), ranking.primeros(10));
+	}
+
+	@Test
+	void restarLaUltimaReservaQuitaElId() {
+		ranking.restar(2L, 3.0);
+
+		assertEquals(List.of(3L, 4L, 1L), ranking.primeros(10));
+	}
+
+	@Test
+	void seQuitaAlLlegarACeroReservasAunqueElPuntajeNoSeaExacto() {
+		// 0.1 + 0.2 - 0.1 - 0.2 no da exactamente 0 en double: decide la cantidad de reservas
+		ranking.sumar(3L, 0.1);
+		ranking.sumar(3L, 0.2);
+		ranking.restar(3L, 0.1);
+		ranking.restar(3L, 0.2);
+		ranking.restar(3L, 2.0);
+
+		assertEquals(List.of(2L, 4L, 1L), ranking.primeros(10));
+	}
+
+	@Test
+	void rankingVacio() {
+		assertTrue(new RankingPopularidad().primeros(5).isEmpty());
+	}
+}